@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.3.5"
     id("io.spring.dependency-management") version "1.1.6"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.waiveliability"
@@ -36,6 +37,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-aop")
 
+    // In-process caching
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     // Database
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql")
@@ -49,6 +53,8 @@ dependencies {
     // AWS SDK v2
     implementation(platform("software.amazon.awssdk:bom:2.28.17"))
     implementation("software.amazon.awssdk:s3")
+    implementation("software.amazon.awssdk:netty-nio-client")
+    implementation("software.amazon.awssdk:apache-client")
     implementation("software.amazon.awssdk:ses")
 
     // Stripe
@@ -83,6 +89,9 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-testcontainers")
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql")
+
+    // Benchmarks
+    jmh("org.springframework:spring-test")
 }
 
 dependencyManagement {
@@ -91,6 +100,16 @@ dependencyManagement {
     }
 }
 
+// Benchmarks live in src/jmh/java; run with ./gradlew jmh
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
 }
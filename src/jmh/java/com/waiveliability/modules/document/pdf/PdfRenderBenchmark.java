@@ -0,0 +1,87 @@
+package com.waiveliability.modules.document.pdf;
+
+import com.waiveliability.modules.forms.domain.Form;
+import com.waiveliability.modules.forms.domain.FormField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submission PDF generation at different form sizes: compiling a form's layout (done once
+ * per form and cached) and rendering a submission onto it (done for every submission).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfRenderBenchmark {
+
+    private static final String TERMS = "<p>By signing this waiver I acknowledge the <b>risks</b> of the activity.</p>"
+        + "<ul><li>I am in good health</li><li>I will follow the instructor's directions</li></ul>"
+        + "<p><i>This agreement is governed by the laws of the state.</i></p>";
+
+    @Param({"10", "50", "200"})
+    int fieldCount;
+
+    private final PdfRenderer renderer = new PdfRenderer();
+    private Form form;
+    private List<FormField> fields;
+    private FormLayout layout;
+    private PdfRenderer.SubmissionContent content;
+
+    @Setup
+    public void setUp() {
+        form = Form.builder()
+            .id(UUID.randomUUID())
+            .name("Activity Participation Waiver")
+            .description("Please read the terms below carefully and answer every question before signing.")
+            .build();
+
+        fields = new ArrayList<>(fieldCount);
+        Map<String, Object> answers = new HashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            boolean isContent = i % 10 == 0;
+            FormField field = FormField.builder()
+                .id(UUID.randomUUID())
+                .fieldType(isContent ? "content" : "textarea")
+                .label(isContent ? "Terms & Conditions" : "Question " + i + ": describe any relevant experience")
+                .content(isContent ? TERMS : null)
+                .fieldOrder(i)
+                .build();
+            fields.add(field);
+            if (!isContent) {
+                answers.put(field.getId().toString(),
+                    "I have done this activity several times before and understand what is involved.\n"
+                        + "No injuries in the last twelve months.");
+            }
+        }
+
+        layout = FormLayout.compile(form, fields, PdfRenderer.CONTENT_WIDTH);
+        content = new PdfRenderer.SubmissionContent(UUID.randomUUID(), "Jane Doe", "jane@example.com",
+            answers, null, false, Instant.now());
+    }
+
+    @Benchmark
+    public FormLayout compileLayout() {
+        return FormLayout.compile(form, fields, PdfRenderer.CONTENT_WIDTH);
+    }
+
+    @Benchmark
+    public void render() throws IOException {
+        renderer.render(layout, content, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,55 @@
+package com.waiveliability.modules.forms.service;
+
+import com.waiveliability.modules.forms.dto.DetectedField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field detection over the text extracted from an imported document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DetectFieldsBenchmark {
+
+    private static final String[] SECTION = {
+        "RELEASE OF LIABILITY",
+        "The participant acknowledges that the activity involves inherent risks of injury.",
+        "The participant assumes all such risks, known and unknown.",
+        "",
+        "Have you participated in this activity before?",
+        "[ ] I agree to the terms and conditions above",
+        "I accept responsibility for my personal belongings",
+        "",
+    };
+
+    @Param({"1000", "20000"})
+    int lineCount;
+
+    private final DocumentImportService documentImportService = new DocumentImportService();
+    private String content;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            sb.append(SECTION[i % SECTION.length]).append('\n');
+        }
+        sb.append("Signature: ____________\n");
+        content = sb.toString();
+    }
+
+    @Benchmark
+    public List<DetectedField> detectFields() {
+        return documentImportService.detectFields(content);
+    }
+}
@@ -0,0 +1,32 @@
+package com.waiveliability.modules.submissions.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV cell escaping, called once per cell of a submission export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CsvEscapeBenchmark {
+
+    private final String plain = "Jane Doe signed the waiver on behalf of her team";
+    private final String needsQuoting = "Doe, Jane said \"yes\"\nand then signed";
+
+    @Benchmark
+    public String escapePlain() {
+        return SubmissionExportService.escapeCsv(plain);
+    }
+
+    @Benchmark
+    public String escapeQuoted() {
+        return SubmissionExportService.escapeCsv(needsQuoting);
+    }
+}
@@ -0,0 +1,113 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waiveliability.modules.forms.dto.FormFieldOption;
+import com.waiveliability.modules.forms.dto.FormFieldResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answer handling done on every public submission: validating the answers against the form's
+ * compiled plan, serializing them to JSON, reading them back, and picking the submitter's name
+ * and email out of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SubmissionAnswersBenchmark {
+
+    private static final List<FormFieldOption> OPTIONS = List.of(
+        new FormFieldOption("Option A", "Option A"),
+        new FormFieldOption("Option B", "Option B"),
+        new FormFieldOption("Option C", "Option C"));
+
+    @Param({"10", "50", "200"})
+    int fieldCount;
+
+    private ObjectMapper objectMapper;
+    private List<FormFieldResponse> fields;
+    private Map<String, Object> answers;
+    private String json;
+    private SubmissionPlan plan;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+
+        fields = new ArrayList<>(fieldCount);
+        answers = new LinkedHashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            String type = switch (i % 4) {
+                case 0 -> "text";
+                case 1 -> "checkbox";
+                case 2 -> "select";
+                default -> "textarea";
+            };
+            List<FormFieldOption> options = "select".equals(type) ? OPTIONS : List.of();
+            FormFieldResponse field = new FormFieldResponse(
+                UUID.randomUUID(), type, "Question " + i, null, true, i, options, null);
+            fields.add(field);
+            answers.put(field.id().toString(), switch (type) {
+                case "checkbox" -> true;
+                case "select" -> List.of("Option A", "Option B");
+                default -> "Answer to question " + i + ", with some punctuation: \"quoted\".";
+            });
+        }
+        // The name and email fields come last, so extraction scans every field
+        FormFieldResponse name = new FormFieldResponse(
+            UUID.randomUUID(), "text", "Full name", null, false, fieldCount, List.of(), null);
+        FormFieldResponse email = new FormFieldResponse(
+            UUID.randomUUID(), "email", "Email", null, false, fieldCount + 1, List.of(), null);
+        fields.add(name);
+        fields.add(email);
+        answers.put(name.id().toString(), "Jane Doe");
+        answers.put(email.id().toString(), "jane@example.com");
+
+        json = objectMapper.writeValueAsString(answers);
+        plan = SubmissionPlan.compile(fields);
+    }
+
+    @Benchmark
+    public String serializeAnswers() {
+        return SubmissionAnswers.serialize(objectMapper, answers);
+    }
+
+    @Benchmark
+    public Map<String, Object> deserializeAnswers() {
+        return SubmissionAnswers.deserialize(objectMapper, json);
+    }
+
+    @Benchmark
+    public SubmissionPlan compilePlan() {
+        return SubmissionPlan.compile(fields);
+    }
+
+    @Benchmark
+    public SubmissionPlan validate() {
+        plan.validate(answers);
+        return plan;
+    }
+
+    @Benchmark
+    public String submitterName() {
+        return plan.submitterName(answers);
+    }
+
+    @Benchmark
+    public String submitterEmail() {
+        return plan.submitterEmail(answers);
+    }
+}
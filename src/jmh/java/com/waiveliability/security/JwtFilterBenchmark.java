@@ -0,0 +1,70 @@
+package com.waiveliability.security;
+
+import com.waiveliability.config.JwtConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the JWT filter for a repeat access token, which is what the
+ * dashboard's parallel admin calls look like. Compare runs across releases to see the
+ * effect of changes to the authentication path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+    private JwtFilter filter;
+    private MockHttpServletRequest headerRequest;
+    private MockHttpServletRequest cookieRequest;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Setup
+    public void setUp() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret("benchmark-secret-key-must-be-at-least-256-bits-long!!");
+        config.setAccessTokenExpiry(3600L);
+        JwtService jwtService = new JwtService(config, new SimpleMeterRegistry());
+        filter = new JwtFilter(jwtService);
+        String token = jwtService.issueAccessToken(UUID.randomUUID(), UUID.randomUUID(), "admin");
+
+        headerRequest = new MockHttpServletRequest("GET", "/api/v1/admin/submissions");
+        headerRequest.addHeader("Authorization", "Bearer " + token);
+
+        // Browsers send the access token alongside unrelated cookies
+        cookieRequest = new MockHttpServletRequest("GET", "/api/v1/admin/submissions");
+        cookieRequest.setCookies(
+            new Cookie("_ga", "GA1.1.123456789.1700000000"),
+            new Cookie("theme", "dark"),
+            new Cookie("refresh_token", "unused"),
+            new Cookie("access_token", token));
+    }
+
+    @Benchmark
+    public void bearerHeader() throws Exception {
+        filter.doFilterInternal(headerRequest, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void accessCookie() throws Exception {
+        filter.doFilterInternal(cookieRequest, response, NO_OP_CHAIN);
+        SecurityContextHolder.clearContext();
+    }
+}
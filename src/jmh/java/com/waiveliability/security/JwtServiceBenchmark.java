@@ -0,0 +1,55 @@
+package com.waiveliability.security;
+
+import com.waiveliability.config.JwtConfig;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token validation, run by the JWT filter on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret("benchmark-secret-key-must-be-at-least-256-bits-long!!");
+        config.setAccessTokenExpiry(3600L);
+        config.setRefreshTokenExpiry(604800L);
+        jwtService = new JwtService(config, new SimpleMeterRegistry());
+        token = jwtService.issueAccessToken(UUID.randomUUID(), UUID.randomUUID(), "admin");
+        refreshToken = jwtService.issueRefreshToken(UUID.randomUUID(), UUID.randomUUID(), "admin");
+    }
+
+    /**
+     * Repeat validation of one access token, served from the verified-token cache.
+     */
+    @Benchmark
+    public Claims validateCachedAccessToken() {
+        return jwtService.validateAndParseClaims(token);
+    }
+
+    /**
+     * Refresh tokens are never cached, so this is full signature verification and parsing.
+     */
+    @Benchmark
+    public Claims validateUncachedToken() {
+        return jwtService.validateAndParseClaims(refreshToken);
+    }
+}
@@ -0,0 +1,73 @@
+package com.waiveliability.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps in-process caches consistent across instances. A cache registers an evictor under its
+ * name; {@link #publish} runs it locally and broadcasts the key over Redis pub/sub so every
+ * other instance evicts the same entry.
+ *
+ * <p>Delivery is best effort: an instance that misses a message keeps the stale entry until
+ * the cache's own expiry, so caches using this must also expire entries after a bounded time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "cache:invalidate";
+    private static final char SEPARATOR = '|';
+
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, Consumer<String>> evictors = new ConcurrentHashMap<>();
+
+    public void register(String cacheName, Consumer<String> evictor) {
+        evictors.put(cacheName, evictor);
+    }
+
+    /**
+     * Evicts {@code key} from the named cache on this instance and all others.
+     */
+    public void publish(String cacheName, String key) {
+        evictLocally(cacheName, key);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, instanceId + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast eviction of {} from {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(SEPARATOR);
+        int second = body.indexOf(SEPARATOR, first + 1);
+        if (first < 0 || second < 0) {
+            log.warn("Ignoring malformed cache invalidation message: {}", body);
+            return;
+        }
+        if (body.startsWith(instanceId) && first == instanceId.length()) {
+            return; // already evicted locally before publishing
+        }
+        evictLocally(body.substring(first + 1, second), body.substring(second + 1));
+    }
+
+    private void evictLocally(String cacheName, String key) {
+        Consumer<String> evictor = evictors.get(cacheName);
+        if (evictor != null) {
+            evictor.accept(key);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.waiveliability.common.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Polls the outbox and hands claimed events to their handlers' executors, in batches of the
+ * handler's batch size. An instance only claims as many batches of a kind as the handler's
+ * executor has workers, so unclaimed work stays in the table for other instances to pick up.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    // Gives a full executor a moment to drain before a rejected batch is claimed again
+    private static final Duration REQUEUE_DELAY = Duration.ofSeconds(5);
+    // Longer than any handler should run; claims older than this are retried elsewhere
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxService outboxService;
+    private final OutboxEventRepository outboxEventRepository;
+    private final Map<String, Lane> lanes = new HashMap<>();
+
+    public OutboxDispatcher(OutboxService outboxService,
+                            OutboxEventRepository outboxEventRepository,
+                            List<OutboxHandler> handlers) {
+        this.outboxService = outboxService;
+        this.outboxEventRepository = outboxEventRepository;
+        for (OutboxHandler handler : handlers) {
+            if (lanes.put(handler.kind(), new Lane(handler)) != null) {
+                throw new IllegalStateException("Duplicate outbox handler for kind " + handler.kind());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:1000}")
+    public void poll() {
+        for (Lane lane : lanes.values()) {
+            try {
+                lane.dispatch();
+            } catch (Exception e) {
+                log.error("Failed to claim outbox events of kind {}", lane.handler.kind(), e);
+            }
+        }
+    }
+
+    private void complete(OutboxEvent event) {
+        outboxEventRepository.deleteById(event.getId());
+    }
+
+    private void requeue(OutboxEvent event) {
+        // Not the handler's fault, so the claim is handed back without using up an attempt
+        outboxEventRepository.unclaim(event.getId(), OutboxEvent.Status.pending, Instant.now().plus(REQUEUE_DELAY));
+    }
+
+    private void fail(OutboxEvent event, Exception e) {
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (event.getAttempts() >= MAX_ATTEMPTS) {
+            outboxEventRepository.release(event.getId(), OutboxEvent.Status.failed, event.getAvailableAt(), error);
+            log.error("Outbox event {} ({} for {}) failed permanently after {} attempts",
+                event.getId(), event.getKind(), event.getAggregateId(), event.getAttempts(), e);
+            try {
+                lanes.get(event.getKind()).handler.onGiveUp(event.getAggregateId());
+            } catch (Exception giveUpFailure) {
+                log.error("Give-up hook for outbox event {} ({} for {}) failed",
+                    event.getId(), event.getKind(), event.getAggregateId(), giveUpFailure);
+            }
+            return;
+        }
+        Instant retryAt = Instant.now().plus(backoff(event.getAttempts()));
+        outboxEventRepository.release(event.getId(), OutboxEvent.Status.pending, retryAt, error);
+        log.warn("Outbox event {} ({} for {}) failed, retrying at {}: {}",
+            event.getId(), event.getKind(), event.getAggregateId(), retryAt, error);
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private final class Lane {
+
+        final OutboxHandler handler;
+        final Semaphore permits;
+
+        Lane(OutboxHandler handler) {
+            this.handler = handler;
+            this.permits = new Semaphore(handler.executor().getMaxPoolSize());
+        }
+
+        void dispatch() {
+            int free = permits.availablePermits();
+            if (free == 0) return;
+
+            int batchSize = Math.max(1, handler.batchSize());
+            List<OutboxEvent> events = outboxService.claim(handler.kind(), free * batchSize, CLAIM_TIMEOUT);
+            for (int from = 0; from < events.size(); from += batchSize) {
+                List<OutboxEvent> batch = events.subList(from, Math.min(from + batchSize, events.size()));
+                permits.acquireUninterruptibly();
+                try {
+                    handler.executor().execute(() -> {
+                        try {
+                            run(batch);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (TaskRejectedException e) {
+                    // Executor shared with other work and currently full
+                    permits.release();
+                    batch.forEach(OutboxDispatcher.this::requeue);
+                }
+            }
+        }
+
+        private void run(List<OutboxEvent> batch) {
+            Map<UUID, Exception> failures;
+            try {
+                failures = handler.handleBatch(batch.stream().map(OutboxEvent::getAggregateId).toList());
+            } catch (Exception e) {
+                batch.forEach(event -> fail(event, e));
+                return;
+            }
+            for (OutboxEvent event : batch) {
+                Exception failure = failures.get(event.getAggregateId());
+                if (failure == null) {
+                    complete(event);
+                } else {
+                    fail(event, failure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.waiveliability.common.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Locks up to {@code limit} events of one kind that are due, or whose claim has gone stale.
+     * Rows locked by another dispatcher are skipped rather than waited on, so any number of
+     * instances can poll concurrently without handing out the same event twice.
+     */
+    @Query(value = """
+        SELECT * FROM outbox_events
+        WHERE kind = :kind
+          AND ((status = 'pending' AND available_at <= :now)
+            OR (status = 'processing' AND claimed_at < :staleBefore))
+        ORDER BY available_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<OutboxEvent> lockDue(@Param("kind") String kind, @Param("now") Instant now,
+                              @Param("staleBefore") Instant staleBefore, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxEvent e SET e.status = :status, e.availableAt = :availableAt, e.lastError = :error,
+            e.claimedAt = null
+        WHERE e.id = :id
+        """)
+    void release(@Param("id") UUID id, @Param("status") OutboxEvent.Status status,
+                 @Param("availableAt") Instant availableAt, @Param("error") String error);
+
+    /**
+     * Hands a claimed event back without counting the claim as an attempt, for events that were
+     * never run.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OutboxEvent e SET e.status = :status, e.availableAt = :availableAt,
+            e.attempts = e.attempts - 1, e.claimedAt = null
+        WHERE e.id = :id
+        """)
+    void unclaim(@Param("id") UUID id, @Param("status") OutboxEvent.Status status,
+                 @Param("availableAt") Instant availableAt);
+}
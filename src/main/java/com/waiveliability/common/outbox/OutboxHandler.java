@@ -0,0 +1,55 @@
+package com.waiveliability.common.outbox;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Performs the side effect for one kind of outbox event. Events are delivered at least once,
+ * so handlers must tolerate running again for the same aggregate. Throwing schedules a retry.
+ */
+public interface OutboxHandler {
+
+    String kind();
+
+    void handle(UUID aggregateId) throws Exception;
+
+    /**
+     * Most events passed to a single {@link #handleBatch} call.
+     */
+    default int batchSize() {
+        return 1;
+    }
+
+    /**
+     * Handles several events in one call and returns the failure for each aggregate that failed.
+     * Handlers with per-call setup costs override this; by default events are handled one by one.
+     */
+    default Map<UUID, Exception> handleBatch(List<UUID> aggregateIds) {
+        Map<UUID, Exception> failures = new HashMap<>();
+        for (UUID aggregateId : aggregateIds) {
+            try {
+                handle(aggregateId);
+            } catch (Exception e) {
+                failures.put(aggregateId, e);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Called once an event has failed its last attempt and will not be retried. Handlers whose
+     * events gate later work override this to release it; by default nothing happens.
+     */
+    default void onGiveUp(UUID aggregateId) {
+    }
+
+    /**
+     * Executor the handler runs on. Each instance claims at most as many batches of this kind
+     * as the executor has workers.
+     */
+    ThreadPoolTaskExecutor executor();
+}
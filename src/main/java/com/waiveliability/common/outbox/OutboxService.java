@@ -0,0 +1,55 @@
+package com.waiveliability.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Records an event in the caller's transaction, so it is dispatched only if that
+     * transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String kind, UUID aggregateId) {
+        enqueue(kind, aggregateId, Instant.now());
+    }
+
+    /**
+     * Like {@link #enqueue(String, UUID)}, but the event is not dispatched before {@code availableAt}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String kind, UUID aggregateId, Instant availableAt) {
+        outboxEventRepository.save(OutboxEvent.builder()
+            .kind(kind)
+            .aggregateId(aggregateId)
+            .availableAt(availableAt)
+            .build());
+    }
+
+    /**
+     * Claims up to {@code limit} due events of {@code kind} for this instance. Claims older than
+     * {@code claimTimeout} are treated as abandoned by a crashed worker and handed out again.
+     */
+    @Transactional
+    public List<OutboxEvent> claim(String kind, int limit, Duration claimTimeout) {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.lockDue(kind, now, now.minus(claimTimeout), limit);
+        for (OutboxEvent event : events) {
+            event.setStatus(OutboxEvent.Status.processing);
+            event.setClaimedAt(now);
+            event.setAttempts(event.getAttempts() + 1);
+        }
+        return events;
+    }
+}
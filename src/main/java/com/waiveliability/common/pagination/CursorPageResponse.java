@@ -0,0 +1,16 @@
+package com.waiveliability.common.pagination;
+
+import java.util.List;
+
+/**
+ * Page of a keyset-paginated listing. {@code nextCursor} is passed back to fetch the following
+ * page and is null on the last one. {@code totalElements} is only filled in when requested,
+ * since counting costs as much as the deepest page.
+ */
+public record CursorPageResponse<T>(
+    List<T> content,
+    int size,
+    String nextCursor,
+    boolean last,
+    Long totalElements
+) {}
@@ -0,0 +1,40 @@
+package com.waiveliability.common.pagination;
+
+import com.waiveliability.common.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a listing ordered by {@code (timestamp DESC, id DESC)}: the sort key of the last
+ * row returned. Clients only see it as an opaque URL-safe token.
+ */
+public record SeekCursor(Instant timestamp, UUID id) {
+
+    public String encode() {
+        String raw = timestamp.getEpochSecond() + "." + timestamp.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}; null or blank means the first page.
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            if (dot < 0 || colon < dot) throw new IllegalArgumentException("Malformed cursor");
+            Instant timestamp = Instant.ofEpochSecond(
+                Long.parseLong(raw.substring(0, dot)), Long.parseLong(raw.substring(dot + 1, colon)));
+            return new SeekCursor(timestamp, UUID.fromString(raw.substring(colon + 1)));
+        } catch (IllegalArgumentException | DateTimeException | ArithmeticException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
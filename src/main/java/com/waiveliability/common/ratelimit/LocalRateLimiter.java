@@ -0,0 +1,78 @@
+package com.waiveliability.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waiveliability.config.RateLimitConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process GCRA buckets, one per rate limit key, each a single atomic theoretical arrival
+ * time updated with compare-and-set. No single instance may exceed a policy on its own, so
+ * a client over the limit here is over it cluster-wide and can be rejected without asking
+ * Redis. The map is bounded; an idle bucket is evicted once it would have refilled anyway.
+ */
+@Component
+public class LocalRateLimiter {
+
+    static final String CACHE_NAME = "rate-limit-buckets";
+    private static final long MAX_BUCKETS = 100_000;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public LocalRateLimiter(RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(MAX_BUCKETS)
+            .expireAfterAccess(refillTime(rateLimitConfig))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, CACHE_NAME);
+    }
+
+    public RateLimitDecision check(String key, RateLimitConfig.Policy policy) {
+        long now = System.nanoTime();
+        long interval = TimeUnit.MILLISECONDS.toNanos(policy.emissionIntervalMillis());
+        long burstOffset = interval * policy.effectiveBurst();
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = tat.get();
+            long newTat = Math.max(current, now) + interval;
+            long allowAt = newTat - burstOffset;
+            if (allowAt > now) {
+                return new RateLimitDecision(false, 0, toMillis(allowAt - now), toMillis(current - now));
+            }
+            if (tat.compareAndSet(current, newTat)) {
+                return new RateLimitDecision(true, (now - allowAt) / interval, 0, toMillis(newTat - now));
+            }
+        }
+    }
+
+    /**
+     * Holds the key's bucket empty for {@code millis}, so a client Redis has already refused is
+     * turned away locally until it may retry.
+     */
+    public void holdFor(String key, RateLimitConfig.Policy policy, long millis) {
+        long now = System.nanoTime();
+        long interval = TimeUnit.MILLISECONDS.toNanos(policy.emissionIntervalMillis());
+        long blockedTat = now + TimeUnit.MILLISECONDS.toNanos(millis) + interval * (policy.effectiveBurst() - 1);
+        buckets.get(key, k -> new AtomicLong(now)).accumulateAndGet(blockedTat, Math::max);
+    }
+
+    private static Duration refillTime(RateLimitConfig rateLimitConfig) {
+        long longest = rateLimitConfig.getPolicies().values().stream()
+            .mapToLong(policy -> policy.emissionIntervalMillis() * policy.effectiveBurst())
+            .max()
+            .orElse(0);
+        return Duration.ofMillis(Math.max(longest, Duration.ofMinutes(1).toMillis()));
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+}
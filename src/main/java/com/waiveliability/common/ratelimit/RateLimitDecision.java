@@ -0,0 +1,12 @@
+package com.waiveliability.common.ratelimit;
+
+/**
+ * Outcome of one rate limit check. {@code resetMillis} is the time until the client's
+ * allowance is fully restored; {@code retryAfterMillis} is zero unless the request was denied.
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterMillis, long resetMillis) {
+
+    static RateLimitDecision allowAll(int burst) {
+        return new RateLimitDecision(true, burst, 0, 0);
+    }
+}
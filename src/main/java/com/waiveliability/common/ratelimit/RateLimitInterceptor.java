@@ -0,0 +1,78 @@
+package com.waiveliability.common.ratelimit;
+
+import com.waiveliability.common.exception.RateLimitException;
+import com.waiveliability.config.RateLimitConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Applies {@link RateLimited} policies before the handler runs and reports the client's
+ * allowance in the IETF {@code RateLimit-*} headers, with {@code Retry-After} on a 429.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiterService rateLimiterService;
+    private final RateLimitConfig rateLimitConfig;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod method)) return true;
+        RateLimited rateLimited = method.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) return true;
+
+        String policyName = rateLimited.value();
+        RateLimitConfig.Policy policy = rateLimitConfig.getPolicies().get(policyName);
+        if (policy == null) {
+            throw new IllegalStateException("No rate limit policy named '" + policyName + "'");
+        }
+
+        RateLimitDecision decision = rateLimiterService.check(policyName, key(policyName, request), policy);
+
+        response.setHeader("RateLimit-Policy", policy.getLimit() + ";w=" + policy.getPeriod().toSeconds());
+        response.setHeader("RateLimit-Limit", String.valueOf(policy.getLimit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.resetMillis())));
+        if (!decision.allowed()) {
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, toSeconds(decision.retryAfterMillis()))));
+            throw new RateLimitException("Too many requests. Please try again later.");
+        }
+        return true;
+    }
+
+    private static String key(String policyName, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(policyName).append(':');
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        // Tenants get separate allowances, so traffic on one cannot lock out another
+        if (pathVariables != null && pathVariables.containsKey("tenantSlug")) {
+            key.append(pathVariables.get("tenantSlug")).append(':');
+        }
+        return key.append(clientIp(request)).toString();
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            int comma = xForwardedFor.indexOf(',');
+            return (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma)).trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+}
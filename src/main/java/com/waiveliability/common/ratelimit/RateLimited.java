@@ -0,0 +1,21 @@
+package com.waiveliability.common.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as rate limited by the named policy from {@code app.rate-limit.policies}.
+ * Requests are counted per client IP, and per tenant on routes with a {@code tenantSlug}.
+ *
+ * Usage:
+ *   @RateLimited("public-submit")
+ *   @PostMapping("/forms/{formId}/submit")
+ *   public SubmissionResponse submitForm(...) { ... }
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
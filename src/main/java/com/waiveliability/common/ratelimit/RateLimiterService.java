@@ -1,38 +1,89 @@
 package com.waiveliability.common.ratelimit;
 
-import com.waiveliability.common.exception.RateLimitException;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import com.waiveliability.config.RateLimitConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
+import java.util.List;
 
+/**
+ * GCRA rate limiting in Redis. Each check is one atomic script call that reads and advances
+ * the key's theoretical arrival time and sets its expiry in the same step, so a key can never
+ * be left without a TTL.
+ *
+ * <p>A {@link LocalRateLimiter} sits in front: clients over the limit on this instance alone
+ * are rejected without a Redis call, and clients Redis refuses are held off locally until
+ * they may retry. If Redis is unavailable the local decision stands on its own.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class RateLimiterService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String KEY_PREFIX = "rate_limit:";
 
-    private static final int MAX_REQUESTS_PER_MINUTE = 10;
-    private static final Duration WINDOW = Duration.ofMinutes(1);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GCRA =
+        RedisScript.of(new ClassPathResource("scripts/rate_limit_gcra.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LocalRateLimiter localRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimiterService(StringRedisTemplate redisTemplate,
+                              LocalRateLimiter localRateLimiter,
+                              MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.localRateLimiter = localRateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
 
     /**
-     * Rate limit check using sliding window counter in Redis.
-     * @param key The rate limit key (e.g., IP address)
-     * @throws RateLimitException if the request limit is exceeded
+     * Counts one request against {@code key} under the named policy. If Redis is unreachable,
+     * only this instance's share of the traffic is limited rather than failing the request.
      */
-    public void checkRateLimit(String key) {
-        String redisKey = "rate_limit:" + key;
+    public RateLimitDecision check(String policyName, String key, RateLimitConfig.Policy policy) {
+        RateLimitDecision local = localRateLimiter.check(key, policy);
+        if (!local.allowed()) {
+            count(policyName, "rejected_local");
+            return local;
+        }
 
-        Long count = redisTemplate.opsForValue().increment(redisKey);
+        RateLimitDecision decision;
+        try {
+            decision = checkRedis(key, policy);
+        } catch (DataAccessException e) {
+            log.debug("Rate limit check in Redis failed for {}, using local limit: {}", key, e.getMessage());
+            count(policyName, "degraded");
+            return local;
+        }
 
-        if (count != null && count == 1) {
-            // First request in this window, set expiration
-            redisTemplate.expire(redisKey, WINDOW);
+        if (!decision.allowed()) {
+            localRateLimiter.holdFor(key, policy, decision.retryAfterMillis());
         }
+        count(policyName, decision.allowed() ? "allowed" : "rejected");
+        return decision;
+    }
 
-        if (count != null && count > MAX_REQUESTS_PER_MINUTE) {
-            throw new RateLimitException("Too many requests. Please try again later.");
+    private RateLimitDecision checkRedis(String key, RateLimitConfig.Policy policy) {
+        List<?> result = redisTemplate.execute(GCRA, List.of(KEY_PREFIX + key),
+            String.valueOf(policy.emissionIntervalMillis()),
+            String.valueOf(policy.effectiveBurst()));
+        if (result == null || result.size() < 4) {
+            return RateLimitDecision.allowAll(policy.effectiveBurst());
         }
+        return new RateLimitDecision(
+            ((Number) result.get(0)).longValue() == 1,
+            ((Number) result.get(1)).longValue(),
+            ((Number) result.get(2)).longValue(),
+            ((Number) result.get(3)).longValue());
+    }
+
+    private void count(String policyName, String outcome) {
+        meterRegistry.counter("ratelimit.requests", "policy", policyName, "outcome", outcome).increment();
     }
 }
@@ -0,0 +1,16 @@
+package com.waiveliability.common.storage;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A pre-signed PUT the client performs itself. The request must carry exactly the given
+ * headers, which pin the content type and length the URL was signed for.
+ */
+public record PresignedUpload(
+    String key,
+    String url,
+    String method,
+    Map<String, String> headers,
+    Instant expiresAt
+) {}
@@ -0,0 +1,54 @@
+package com.waiveliability.common.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Reuses pre-signed GET URLs instead of signing one per object per response.
+ *
+ * <p>Time is cut into fixed windows. Every request for a key within a window gets the same URL,
+ * signed to stay valid for the requested lifetime past the window's end, so a URL is always good
+ * for at least that long after it is handed out. Entries are dropped once their window closes.
+ */
+@Component
+public class PresignedUrlCache {
+
+    static final String CACHE_NAME = "presigned-urls";
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+    private static final long MAX_ENTRIES = 50_000;
+
+    private final S3Service s3Service;
+    private final Cache<Entry, String> cache;
+
+    public PresignedUrlCache(S3Service s3Service, MeterRegistry meterRegistry) {
+        this.s3Service = s3Service;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(WINDOW)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns a GET URL for {@code key} that stays valid for at least {@code minValidity}, or
+     * null when the key is null.
+     */
+    public String get(String key, Duration minValidity) {
+        if (key == null) return null;
+        Instant now = Instant.now();
+        long window = now.toEpochMilli() / WINDOW.toMillis();
+        return cache.get(new Entry(key, minValidity, window), entry -> {
+            Instant windowEnd = Instant.ofEpochMilli((window + 1) * WINDOW.toMillis());
+            return s3Service.generateSignedUrl(key, Duration.between(now, windowEnd).plus(minValidity));
+        });
+    }
+
+    private record Entry(String key, Duration minValidity, long window) {}
+}
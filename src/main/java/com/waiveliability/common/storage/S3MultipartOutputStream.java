@@ -0,0 +1,187 @@
+package com.waiveliability.common.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Output stream that uploads to S3 in fixed-size parts as it is written. Each full part is sent
+ * asynchronously while the next one fills, so writing and uploading overlap with two part
+ * buffers in memory. Objects smaller than one part are sent with a plain PUT on {@link #close()}.
+ *
+ * <p>Closing completes the upload. Call {@link #abort()} instead if the content is incomplete;
+ * S3 otherwise keeps (and bills for) the uploaded parts.
+ */
+@Slf4j
+public class S3MultipartOutputStream extends OutputStream {
+
+    /** S3 requires every part but the last to be at least 5 MiB. */
+    static final int PART_SIZE = 8 * 1024 * 1024;
+
+    // One part uploading while the next fills; writers wait once a second part is ready
+    private static final int MAX_PARTS_IN_FLIGHT = 1;
+
+    private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucket;
+    private final String key;
+    private final String contentType;
+
+    private byte[] buffer = new byte[PART_SIZE];
+    private int position;
+    private final Deque<PendingPart> inFlight = new ArrayDeque<>();
+    private final Deque<byte[]> spareBuffers = new ArrayDeque<>();
+    private final List<CompletedPart> parts = new ArrayList<>();
+    private String uploadId;
+    private long bytesWritten;
+    private boolean closed;
+
+    S3MultipartOutputStream(S3Client s3Client, S3AsyncClient s3AsyncClient, String bucket, String key,
+                            String contentType) {
+        this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucket = bucket;
+        this.key = key;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Number of bytes written to this stream so far.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        buffer[position++] = (byte) b;
+        bytesWritten++;
+        if (position == PART_SIZE) {
+            uploadPart();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, PART_SIZE - position);
+            System.arraycopy(b, off, buffer, position, n);
+            position += n;
+            bytesWritten += n;
+            off += n;
+            len -= n;
+            if (position == PART_SIZE) {
+                uploadPart();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            if (uploadId == null) {
+                s3Client.putObject(req -> req.bucket(bucket).key(key).contentType(contentType),
+                    RequestBody.fromBytes(Arrays.copyOf(buffer, position)));
+                log.debug("Uploaded S3 object: bucket={}, key={}", bucket, key);
+                return;
+            }
+            if (position > 0) {
+                uploadPart();
+            }
+            while (!inFlight.isEmpty()) {
+                awaitOldestPart();
+            }
+            s3Client.completeMultipartUpload(req -> req.bucket(bucket).key(key).uploadId(uploadId)
+                .multipartUpload(upload -> upload.parts(parts)));
+            log.debug("Completed multipart upload: bucket={}, key={}, parts={}", bucket, key, parts.size());
+        } catch (RuntimeException e) {
+            abortQuietly();
+            throw new IOException("Failed to upload S3 object " + key, e);
+        }
+    }
+
+    /**
+     * Discards everything written so far. The stream cannot be used afterwards.
+     */
+    public void abort() {
+        if (closed) return;
+        closed = true;
+        abortQuietly();
+    }
+
+    private void uploadPart() throws IOException {
+        try {
+            if (uploadId == null) {
+                uploadId = s3Client.createMultipartUpload(req -> req.bucket(bucket).key(key).contentType(contentType))
+                    .uploadId();
+            }
+            int partNumber = parts.size() + inFlight.size() + 1;
+            byte[] data = buffer;
+            CompletableFuture<UploadPartResponse> response = s3AsyncClient.uploadPart(
+                req -> req.bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber),
+                AsyncRequestBody.fromRemainingByteBufferUnsafe(ByteBuffer.wrap(data, 0, position)));
+            inFlight.add(new PendingPart(partNumber, data, response));
+
+            while (inFlight.size() > MAX_PARTS_IN_FLIGHT) {
+                awaitOldestPart();
+            }
+            buffer = spareBuffers.isEmpty() ? new byte[PART_SIZE] : spareBuffers.pop();
+            position = 0;
+        } catch (RuntimeException e) {
+            closed = true;
+            abortQuietly();
+            throw new IOException("Failed to upload part of S3 object " + key, e);
+        }
+    }
+
+    private void awaitOldestPart() {
+        PendingPart part = inFlight.poll();
+        String eTag;
+        try {
+            eTag = part.response().join().eTag();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        parts.add(CompletedPart.builder().partNumber(part.partNumber()).eTag(eTag).build());
+        // The SDK is done reading the part, so its buffer can take the next one
+        spareBuffers.push(part.data());
+    }
+
+    private void abortQuietly() {
+        for (PendingPart part : inFlight) {
+            part.response().cancel(true);
+        }
+        inFlight.clear();
+        if (uploadId == null) return;
+        try {
+            s3Client.abortMultipartUpload(req -> req.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) throw new IOException("Stream closed");
+    }
+
+    private record PendingPart(int partNumber, byte[] data, CompletableFuture<UploadPartResponse> response) {}
+}
@@ -5,18 +5,29 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
-import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +35,7 @@ import java.time.Duration;
 public class S3Service {
 
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final S3Presigner s3Presigner;
     private final S3Config s3Config;
 
@@ -46,9 +58,47 @@ public class S3Service {
     }
 
     /**
-     * Downloads an object from S3 and returns its bytes.
+     * Uploads a file without blocking. Files past the client's multipart threshold are sent as
+     * parts in parallel. The future completes with the key once S3 has the whole object.
      */
-    public byte[] download(String key) throws IOException {
+    public CompletableFuture<String> uploadAsync(String key, Path file, String contentType) {
+        String bucket = s3Config.getS3().getBucket();
+
+        return s3AsyncClient.putObject(req -> req.bucket(bucket).key(key).contentType(contentType),
+                AsyncRequestBody.fromFile(file))
+            .thenApply(response -> {
+                log.debug("Uploaded S3 object: bucket={}, key={}", bucket, key);
+                return key;
+            });
+    }
+
+    /**
+     * Opens a stream that uploads everything written to it under {@code key}, in parts as the
+     * data arrives. Close the stream to finish the upload, or abort it to discard it.
+     */
+    public S3MultipartOutputStream openMultipartUpload(String key, String contentType) {
+        return new S3MultipartOutputStream(s3Client, s3AsyncClient, s3Config.getS3().getBucket(), key, contentType);
+    }
+
+    /**
+     * Downloads a small object without blocking. The body is collected into one array sized
+     * from the response, so use {@link #open} for anything large.
+     */
+    public CompletableFuture<byte[]> downloadAsync(String key) {
+        String bucket = s3Config.getS3().getBucket();
+
+        return s3AsyncClient.getObject(req -> req.bucket(bucket).key(key), AsyncResponseTransformer.toBytes())
+            .thenApply(response -> {
+                log.debug("Downloaded S3 object: bucket={}, key={}", bucket, key);
+                return response.asByteArrayUnsafe();
+            });
+    }
+
+    /**
+     * Opens an object for reading. The body is streamed from S3 as it is read rather than
+     * buffered; the caller must close the stream to release the connection.
+     */
+    public ResponseInputStream<GetObjectResponse> open(String key) {
         String bucket = s3Config.getS3().getBucket();
 
         GetObjectRequest getRequest = GetObjectRequest.builder()
@@ -56,9 +106,34 @@ public class S3Service {
             .key(key)
             .build();
 
-        try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(getRequest)) {
-            log.debug("Downloaded S3 object: bucket={}, key={}", bucket, key);
-            return response.readAllBytes();
+        log.debug("Opened S3 object: bucket={}, key={}", bucket, key);
+        return s3Client.getObject(getRequest);
+    }
+
+    /**
+     * Reads the first {@code length} bytes of an object with a ranged GET. The result is shorter
+     * if the object is.
+     */
+    public byte[] readPrefix(String key, int length) {
+        String bucket = s3Config.getS3().getBucket();
+
+        return s3Client.getObjectAsBytes(req -> req.bucket(bucket).key(key).range("bytes=0-" + (length - 1)))
+            .asByteArrayUnsafe();
+    }
+
+    /**
+     * Looks up an object's size and content type without downloading it. Empty if there is no
+     * object under {@code key}.
+     */
+    public Optional<StoredObject> head(String key) {
+        String bucket = s3Config.getS3().getBucket();
+        try {
+            HeadObjectResponse response = s3Client.headObject(req -> req.bucket(bucket).key(key));
+            return Optional.of(new StoredObject(key, response.contentLength(), response.contentType()));
+        } catch (S3Exception e) {
+            // HEAD responses have no body, so a missing key is only visible as a 404
+            if (e.statusCode() == 404) return Optional.empty();
+            throw e;
         }
     }
 
@@ -77,6 +152,29 @@ public class S3Service {
         log.debug("Deleted S3 object: bucket={}, key={}", bucket, key);
     }
 
+    /**
+     * Starts deleting an object and returns without waiting for it. Failures are logged, not
+     * thrown; a leaked object is preferable to failing the caller. Null keys are ignored.
+     */
+    public void deleteInBackground(String key) {
+        if (key == null) return;
+        String bucket = s3Config.getS3().getBucket();
+
+        try {
+            s3AsyncClient.deleteObject(req -> req.bucket(bucket).key(key))
+                .whenComplete((response, e) -> {
+                    if (e != null) {
+                        log.error("Failed to delete S3 object: {}", key, e);
+                    } else {
+                        log.debug("Deleted S3 object: bucket={}, key={}", bucket, key);
+                    }
+                });
+        } catch (RuntimeException e) {
+            // The client can refuse work up front, e.g. when its connection queue is full
+            log.error("Failed to start deleting S3 object: {}", key, e);
+        }
+    }
+
     /**
      * Generates a pre-signed GET URL for the given key with the specified expiry.
      */
@@ -92,4 +190,46 @@ public class S3Service {
         log.debug("Generated signed URL for S3 object: bucket={}, key={}", bucket, key);
         return url;
     }
+
+    /**
+     * Generates a pre-signed PUT for {@code key} that only accepts a body of exactly
+     * {@code contentLength} bytes sent with {@code contentType}.
+     */
+    public PresignedUpload generateSignedUpload(String key, String contentType, long contentLength,
+                                                Duration expiry) {
+        String bucket = s3Config.getS3().getBucket();
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+            .signatureDuration(expiry)
+            .putObjectRequest(req -> req.bucket(bucket).key(key)
+                .contentType(contentType)
+                .contentLength(contentLength))
+            .build();
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(presignRequest);
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            // The client sets Host itself
+            if (!"host".equalsIgnoreCase(name)) headers.put(name, String.join(",", values));
+        });
+        log.debug("Generated signed upload URL for S3 object: bucket={}, key={}", bucket, key);
+        return new PresignedUpload(key, presigned.url().toString(), "PUT", headers, presigned.expiration());
+    }
+
+    /**
+     * Generates a pre-signed GET URL that makes browsers save the object as {@code downloadFilename}.
+     */
+    public String generateSignedUrl(String key, Duration expiry, String downloadFilename) {
+        String bucket = s3Config.getS3().getBucket();
+
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+            .signatureDuration(expiry)
+            .getObjectRequest(req -> req.bucket(bucket).key(key)
+                .responseContentDisposition("attachment; filename=\"" + downloadFilename + "\""))
+            .build();
+
+        String url = s3Presigner.presignGetObject(presignRequest).url().toString();
+        log.debug("Generated signed download URL for S3 object: bucket={}, key={}", bucket, key);
+        return url;
+    }
 }
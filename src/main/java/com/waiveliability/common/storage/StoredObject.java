@@ -0,0 +1,6 @@
+package com.waiveliability.common.storage;
+
+/**
+ * Metadata of an object in the bucket, as reported by a HEAD request.
+ */
+public record StoredObject(String key, long contentLength, String contentType) {}
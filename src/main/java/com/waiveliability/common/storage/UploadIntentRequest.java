@@ -0,0 +1,12 @@
+package com.waiveliability.common.storage;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * What a client is about to upload, so the URL can be signed for that type and size only.
+ */
+public record UploadIntentRequest(
+    @NotBlank String contentType,
+    @Positive long contentLength
+) {}
@@ -0,0 +1,143 @@
+package com.waiveliability.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One executor per kind of background work, so a backlog in one (say, SMTP timeouts) cannot
+ * starve the others. Every pool has a bounded queue and rejects work once it is full rather
+ * than buffering without limit; rejections are counted in {@code executor.rejected}.
+ *
+ * <p>Besides Micrometer's standard pool gauges, each executor records {@code executor.idle}
+ * (time queued) and {@code executor} (run time) timers, tagged with the executor name.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.async")
+@Getter
+@Setter
+public class AsyncConfig {
+
+    private ExecutorProperties exports = new ExecutorProperties(2, 20);
+    private ExecutorProperties pdf = new ExecutorProperties(Runtime.getRuntime().availableProcessors(), 100);
+    private ExecutorProperties mail = new ExecutorProperties(16, 500);
+    private ExecutorProperties storage = new ExecutorProperties(32, 1000);
+
+    /**
+     * Spring Boot backs off its default executor as soon as any other executor bean exists,
+     * so it is declared here to keep unqualified {@code @Async} methods on their own pool.
+     */
+    @Lazy
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Runs submission export jobs. Kept small: each export holds a database cursor and an
+     * S3 upload buffer for its whole run.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportExecutor(MeterRegistry meterRegistry) {
+        return boundedExecutor("export", exports, meterRegistry);
+    }
+
+    /**
+     * Renders PDFs. CPU-bound, so sized to the available cores by default.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor pdfExecutor(MeterRegistry meterRegistry) {
+        return boundedExecutor("pdf", pdf, meterRegistry);
+    }
+
+    /**
+     * Sends email. Mostly waiting on SMTP, so it has more workers than there are cores.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mailExecutor(MeterRegistry meterRegistry) {
+        return boundedExecutor("mail", mail, meterRegistry);
+    }
+
+    /**
+     * Background S3 calls. Network-bound, so it has more workers than there are cores.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor storageExecutor(MeterRegistry meterRegistry) {
+        return boundedExecutor("storage", storage, meterRegistry);
+    }
+
+    private static ThreadPoolTaskExecutor boundedExecutor(String name, ExecutorProperties props,
+                                                          MeterRegistry meterRegistry) {
+        ThreadFactory threadFactory = Thread.ofPlatform().name(name + "-", 0).factory();
+        Counter rejected = Counter.builder("executor.rejected")
+            .description("Tasks rejected because the executor queue was full")
+            .tag("name", name)
+            .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            protected ExecutorService initializeExecutor(ThreadFactory factory, RejectedExecutionHandler handler) {
+                ExecutorService service = super.initializeExecutor(factory, handler);
+                // Gauges for pool size, active threads, queue depth and completed tasks
+                new ExecutorServiceMetrics(service, name, Tags.empty()).bindTo(meterRegistry);
+                return service;
+            }
+        };
+        executor.setThreadFactory(threadFactory);
+        executor.setCorePoolSize(props.getWorkers());
+        executor.setMaxPoolSize(props.getWorkers());
+        executor.setQueueCapacity(props.getQueueCapacity());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setTaskDecorator(timed(name, meterRegistry));
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Executor '" + name + "' is saturated");
+        });
+        return executor;
+    }
+
+    private static TaskDecorator timed(String name, MeterRegistry meterRegistry) {
+        Timer idle = Timer.builder("executor.idle").tag("name", name).register(meterRegistry);
+        Timer run = Timer.builder("executor").tag("name", name).register(meterRegistry);
+        return task -> {
+            long queuedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                idle.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    run.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExecutorProperties {
+        private int workers;
+        private int queueCapacity;
+    }
+}
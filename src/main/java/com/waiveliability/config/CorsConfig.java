@@ -21,7 +21,8 @@ public class CorsConfig {
         config.setAllowedOrigins(List.of(allowedOrigins.split(",")));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With"));
-        config.setExposedHeaders(List.of("X-Total-Count"));
+        config.setExposedHeaders(List.of("X-Total-Count", "Retry-After",
+            "RateLimit-Policy", "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
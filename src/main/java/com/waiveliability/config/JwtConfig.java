@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "app.jwt")
 @Getter
@@ -12,6 +15,9 @@ import org.springframework.context.annotation.Configuration;
 public class JwtConfig {
 
     private String secret;
+    private String keyId = "primary";  // sent as the kid header of issued tokens
+    // Retired secrets by kid; tokens signed with them verify until they expire
+    private Map<String, String> previousKeys = new LinkedHashMap<>();
     private long accessTokenExpiry;    // seconds
     private long refreshTokenExpiry;   // seconds
     private boolean cookieSecure = true;
@@ -0,0 +1,46 @@
+package com.waiveliability.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named rate limit policies, applied to endpoints with {@code @RateLimited("<name>")}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    /**
+     * Allows {@code limit} requests per {@code period} on average, and up to {@code burst}
+     * back to back (defaults to {@code limit}).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+        private int limit;
+        private Duration period = Duration.ofMinutes(1);
+        private Integer burst;
+
+        public int effectiveBurst() {
+            return burst != null ? burst : limit;
+        }
+
+        public long emissionIntervalMillis() {
+            return Math.max(1, period.toMillis() / limit);
+        }
+    }
+}
@@ -7,11 +7,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
+import java.time.Duration;
 
 @Configuration
 @ConfigurationProperties(prefix = "app.aws")
@@ -19,6 +23,10 @@ import java.net.URI;
 @Setter
 public class S3Config {
 
+    // Objects at least this large are uploaded by the async client as parallel parts
+    private static final long MULTIPART_THRESHOLD_BYTES = 16L * 1024 * 1024;
+    private static final long MULTIPART_PART_SIZE_BYTES = 8L * 1024 * 1024;
+
     private String region;
     private S3Properties s3 = new S3Properties();
 
@@ -26,7 +34,35 @@ public class S3Config {
     public S3Client s3Client() {
         var builder = S3Client.builder()
             .region(Region.of(region))
-            .credentialsProvider(DefaultCredentialsProvider.create());
+            .credentialsProvider(DefaultCredentialsProvider.create())
+            .httpClientBuilder(ApacheHttpClient.builder()
+                .maxConnections(s3.getMaxConnections())
+                .connectionAcquisitionTimeout(s3.getConnectionAcquisitionTimeout()));
+
+        if (StringUtils.hasText(s3.getEndpoint())) {
+            builder.endpointOverride(URI.create(s3.getEndpoint()))
+                   .forcePathStyle(true);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Non-blocking client for uploads, downloads and deletes that callers overlap with other
+     * work. Large uploads are split into parts sent in parallel.
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        var builder = S3AsyncClient.builder()
+            .region(Region.of(region))
+            .credentialsProvider(DefaultCredentialsProvider.create())
+            .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(s3.getMaxConnections())
+                .connectionAcquisitionTimeout(s3.getConnectionAcquisitionTimeout()))
+            .multipartEnabled(true)
+            .multipartConfiguration(multipart -> multipart
+                .thresholdInBytes(MULTIPART_THRESHOLD_BYTES)
+                .minimumPartSizeInBytes(MULTIPART_PART_SIZE_BYTES));
 
         if (StringUtils.hasText(s3.getEndpoint())) {
             builder.endpointOverride(URI.create(s3.getEndpoint()))
@@ -54,5 +90,7 @@ public class S3Config {
     public static class S3Properties {
         private String bucket;
         private String endpoint;
+        private int maxConnections = 64;
+        private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
     }
 }
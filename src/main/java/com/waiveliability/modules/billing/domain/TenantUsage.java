@@ -0,0 +1,33 @@
+package com.waiveliability.modules.billing.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "tenant_usage")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantUsage {
+
+    @Id
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Column(name = "forms_count", nullable = false)
+    private long formsCount;
+
+    @Column(name = "submissions_count", nullable = false)
+    private long submissionsCount;
+
+    @Column(name = "reconciled_at")
+    private Instant reconciledAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
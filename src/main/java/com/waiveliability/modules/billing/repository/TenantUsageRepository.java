@@ -0,0 +1,74 @@
+package com.waiveliability.modules.billing.repository;
+
+import com.waiveliability.modules.billing.domain.TenantUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TenantUsageRepository extends JpaRepository<TenantUsage, UUID> {
+
+    /**
+     * Adds the deltas to the tenant's counters in one statement, creating the row if needed.
+     * The row lock it takes serializes concurrent updates for the same tenant.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO tenant_usage (tenant_id, forms_count, submissions_count, updated_at)
+        VALUES (:tenantId, GREATEST(:forms, 0), GREATEST(:submissions, 0), now())
+        ON CONFLICT (tenant_id) DO UPDATE SET
+            forms_count = GREATEST(tenant_usage.forms_count + :forms, 0),
+            submissions_count = GREATEST(tenant_usage.submissions_count + :submissions, 0),
+            updated_at = now()
+        """, nativeQuery = true)
+    void increment(@Param("tenantId") UUID tenantId, @Param("forms") long forms,
+                   @Param("submissions") long submissions);
+
+    /**
+     * Takes a transaction-scoped advisory lock if no other session holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("key") long key);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO tenant_usage (tenant_id)
+        SELECT t.id FROM tenants t
+        ON CONFLICT (tenant_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertMissing();
+
+    @Query("SELECT u.tenantId FROM TenantUsage u")
+    List<UUID> findAllTenantIds();
+
+    /**
+     * Locks the tenant's counters until the transaction ends, holding off concurrent increments.
+     */
+    @Query(value = "SELECT tenant_id FROM tenant_usage WHERE tenant_id = :tenantId FOR UPDATE", nativeQuery = true)
+    Optional<UUID> lockById(@Param("tenantId") UUID tenantId);
+
+    /**
+     * Recounts the tenant's forms and submissions and fixes the counters if they drifted.
+     * Returns 1 if they were corrected. Only accurate under {@link #lockById}: counts come from
+     * this statement's snapshot, so an increment committed while it runs would be overwritten.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE tenant_usage u SET
+            forms_count = c.forms,
+            submissions_count = c.submissions,
+            reconciled_at = now(),
+            updated_at = now()
+        FROM (
+            SELECT (SELECT count(*) FROM forms f WHERE f.tenant_id = :tenantId) AS forms,
+                   (SELECT count(*) FROM submissions s WHERE s.tenant_id = :tenantId) AS submissions
+        ) c
+        WHERE u.tenant_id = :tenantId
+          AND (u.forms_count <> c.forms OR u.submissions_count <> c.submissions)
+        """, nativeQuery = true)
+    int reconcile(@Param("tenantId") UUID tenantId);
+}
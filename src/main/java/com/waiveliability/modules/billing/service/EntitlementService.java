@@ -0,0 +1,59 @@
+package com.waiveliability.modules.billing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waiveliability.common.cache.CacheInvalidationBus;
+import com.waiveliability.modules.billing.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Per-tenant {@link Entitlements}, cached in memory so plan checks do not query the
+ * subscription table. Evicted on every instance when the subscription changes; the TTL only
+ * bounds how long a missed eviction can linger.
+ *
+ * <p>Looking up entitlements never writes: a tenant without a subscription row gets the free
+ * plan, and the row is created by the billing endpoints as before.
+ */
+@Service
+public class EntitlementService {
+
+    static final String CACHE_NAME = "entitlements";
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final long MAX_ENTRIES = 10_000;
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<UUID, Entitlements> cache;
+
+    public EntitlementService(SubscriptionRepository subscriptionRepository,
+                              CacheInvalidationBus invalidationBus,
+                              MeterRegistry meterRegistry) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        invalidationBus.register(CACHE_NAME, tenantId -> cache.invalidate(UUID.fromString(tenantId)));
+    }
+
+    public Entitlements get(UUID tenantId) {
+        return cache.get(tenantId, id -> subscriptionRepository.findByTenantId(id)
+            .map(Entitlements::of)
+            .orElseGet(() -> Entitlements.free(id)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        invalidationBus.publish(CACHE_NAME, event.tenantId().toString());
+    }
+}
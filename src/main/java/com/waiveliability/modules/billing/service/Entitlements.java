@@ -0,0 +1,54 @@
+package com.waiveliability.modules.billing.service;
+
+import com.waiveliability.modules.billing.domain.Subscription;
+import com.waiveliability.modules.billing.domain.Subscription.PlanType;
+import com.waiveliability.modules.billing.domain.Subscription.SubscriptionStatus;
+
+import java.util.UUID;
+
+/**
+ * What a tenant's plan allows, as an immutable snapshot. A limit of -1 means unlimited.
+ */
+public record Entitlements(
+    UUID tenantId,
+    PlanType plan,
+    SubscriptionStatus status,
+    int formsLimit,
+    int submissionsLimit
+) {
+
+    public static final int UNLIMITED = -1;
+
+    private static final int FREE_FORMS_LIMIT = 3;
+    private static final int FREE_SUBMISSIONS_LIMIT = 100;
+    private static final int BASIC_FORMS_LIMIT = 10;
+    private static final int BASIC_SUBMISSIONS_LIMIT = 1000;
+
+    public static Entitlements of(Subscription subscription) {
+        return forPlan(subscription.getTenant().getId(), subscription.getPlan(), subscription.getStatus());
+    }
+
+    /**
+     * The free plan, for tenants that do not have a subscription row yet.
+     */
+    public static Entitlements free(UUID tenantId) {
+        return forPlan(tenantId, PlanType.free, SubscriptionStatus.active);
+    }
+
+    public static Entitlements forPlan(UUID tenantId, PlanType plan, SubscriptionStatus status) {
+        PlanType effective = plan != null ? plan : PlanType.free;
+        return switch (effective) {
+            case free -> new Entitlements(tenantId, effective, status, FREE_FORMS_LIMIT, FREE_SUBMISSIONS_LIMIT);
+            case basic -> new Entitlements(tenantId, effective, status, BASIC_FORMS_LIMIT, BASIC_SUBMISSIONS_LIMIT);
+            case premium -> new Entitlements(tenantId, effective, status, UNLIMITED, UNLIMITED);
+        };
+    }
+
+    public boolean allowsForms(long used) {
+        return formsLimit == UNLIMITED || used < formsLimit;
+    }
+
+    public boolean allowsSubmissions(long used) {
+        return submissionsLimit == UNLIMITED || used < submissionsLimit;
+    }
+}
@@ -20,6 +20,7 @@ import com.waiveliability.modules.identity.repository.TenantRepository;
 import com.waiveliability.modules.submissions.repository.SubmissionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +37,7 @@ public class StripeService {
     private final TenantRepository tenantRepository;
     private final FormRepository formRepository;
     private final SubmissionRepository submissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String DEFAULT_PRICE_BASIC = "price_basic_monthly";
     private static final String DEFAULT_PRICE_PREMIUM = "price_premium_monthly";
@@ -150,6 +152,7 @@ public class StripeService {
         subscription.setCurrentPeriodStart(Instant.now());
         subscription.setCurrentPeriodEnd(Instant.now().plusSeconds(30 * 24 * 60 * 60)); // 30 days
         subscriptionRepository.save(subscription);
+        publishChanged(subscription);
         log.info("Subscription activated: {}", subscriptionId);
     }
 
@@ -167,6 +170,7 @@ public class StripeService {
                     subscription.setStatus(mapStripeStatus(status));
                     subscription.setCurrentPeriodEnd(Instant.ofEpochSecond(periodEnd));
                     subscriptionRepository.save(subscription);
+                    publishChanged(subscription);
                     log.info("Subscription updated: {}", subscriptionId);
                 });
     }
@@ -184,6 +188,7 @@ public class StripeService {
                     subscription.setPlan(PlanType.free);
                     subscription.setStripeSubscriptionId(null);
                     subscriptionRepository.save(subscription);
+                    publishChanged(subscription);
                     log.info("Subscription canceled: {}", subscriptionId);
                 });
     }
@@ -199,6 +204,7 @@ public class StripeService {
                     .ifPresent(subscription -> {
                         subscription.setStatus(SubscriptionStatus.past_due);
                         subscriptionRepository.save(subscription);
+                        publishChanged(subscription);
                         log.warn("Payment failed for subscription: {}", subscriptionId);
                     });
         }
@@ -263,6 +269,7 @@ public class StripeService {
                     .build();
 
             subscriptionRepository.save(subscription);
+            eventPublisher.publishEvent(new SubscriptionChangedEvent(tenantId));
             log.info("Created default free subscription for tenant: {}", tenantId);
         }
     }
@@ -281,7 +288,13 @@ public class StripeService {
                             .currentPeriodEnd(Instant.now().plusSeconds(365 * 24 * 60 * 60))
                             .build();
 
-                    return subscriptionRepository.save(subscription);
+                    Subscription saved = subscriptionRepository.save(subscription);
+                    eventPublisher.publishEvent(new SubscriptionChangedEvent(tenantId));
+                    return saved;
                 });
     }
+
+    private void publishChanged(Subscription subscription) {
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(subscription.getTenant().getId()));
+    }
 }
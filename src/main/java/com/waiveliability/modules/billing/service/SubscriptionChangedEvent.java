@@ -0,0 +1,8 @@
+package com.waiveliability.modules.billing.service;
+
+import java.util.UUID;
+
+/**
+ * Published when a tenant's subscription is created or its plan or status changes.
+ */
+public record SubscriptionChangedEvent(UUID tenantId) {}
@@ -0,0 +1,9 @@
+package com.waiveliability.modules.billing.service;
+
+/**
+ * A tenant's current form and submission counts.
+ */
+public record Usage(long forms, long submissions) {
+
+    public static final Usage NONE = new Usage(0, 0);
+}
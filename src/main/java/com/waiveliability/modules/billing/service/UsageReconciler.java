@@ -0,0 +1,53 @@
+package com.waiveliability.modules.billing.service;
+
+import com.waiveliability.modules.billing.repository.TenantUsageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Periodically recounts usage from the source tables and fixes counters that drifted, for
+ * example through rows removed outside the application. A Postgres advisory lock makes sure
+ * only one instance runs a pass at a time; each tenant is then recounted in its own
+ * transaction, so submits are only held up for the duration of that tenant's count.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UsageReconciler {
+
+    // Arbitrary, but fixed: identifies this job's advisory lock across instances
+    private static final long LOCK_KEY = 0x7573616765L;
+
+    private final TenantUsageRepository tenantUsageRepository;
+    private final UsageService usageService;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "${app.usage.reconcile-interval:3600000}",
+               initialDelayString = "${app.usage.reconcile-initial-delay:300000}")
+    @Transactional
+    public void reconcile() {
+        if (!tenantUsageRepository.tryAdvisoryLock(LOCK_KEY)) {
+            log.debug("Usage reconciliation already running on another instance");
+            return;
+        }
+        tenantUsageRepository.insertMissing();
+        int corrected = 0;
+        for (UUID tenantId : tenantUsageRepository.findAllTenantIds()) {
+            try {
+                if (usageService.reconcile(tenantId)) corrected++;
+            } catch (Exception e) {
+                log.error("Failed to reconcile usage for tenant {}", tenantId, e);
+            }
+        }
+        meterRegistry.counter("usage.reconciled").increment(corrected);
+        if (corrected > 0) {
+            log.warn("Corrected usage counters for {} tenants", corrected);
+        }
+    }
+}
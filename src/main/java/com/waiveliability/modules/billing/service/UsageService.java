@@ -0,0 +1,48 @@
+package com.waiveliability.modules.billing.service;
+
+import com.waiveliability.modules.billing.repository.TenantUsageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Per-tenant usage counters. Writers record each form and submission created or deleted in
+ * the same transaction as the change, so reading usage is a primary key lookup rather than a
+ * count. {@link UsageReconciler} corrects any drift.
+ */
+@Service
+@RequiredArgsConstructor
+public class UsageService {
+
+    private final TenantUsageRepository tenantUsageRepository;
+
+    @Transactional(readOnly = true)
+    public Usage get(UUID tenantId) {
+        return tenantUsageRepository.findById(tenantId)
+            .map(usage -> new Usage(usage.getFormsCount(), usage.getSubmissionsCount()))
+            .orElse(Usage.NONE);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void formsChanged(UUID tenantId, long delta) {
+        tenantUsageRepository.increment(tenantId, delta, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void submissionsChanged(UUID tenantId, long delta) {
+        tenantUsageRepository.increment(tenantId, 0, delta);
+    }
+
+    /**
+     * Recounts one tenant in its own short transaction, holding the counter row's lock while
+     * counting so no increment can commit in between. Returns true if the counters had drifted.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean reconcile(UUID tenantId) {
+        if (tenantUsageRepository.lockById(tenantId).isEmpty()) return false;
+        return tenantUsageRepository.reconcile(tenantId) > 0;
+    }
+}
@@ -1,6 +1,9 @@
 package com.waiveliability.modules.business.controller;
 
+import com.waiveliability.common.storage.PresignedUpload;
+import com.waiveliability.common.storage.UploadIntentRequest;
 import com.waiveliability.modules.business.dto.BusinessResponse;
+import com.waiveliability.modules.business.dto.ConfirmLogoRequest;
 import com.waiveliability.modules.business.dto.UpdateBrandingRequest;
 import com.waiveliability.modules.business.dto.UpdateBusinessRequest;
 import com.waiveliability.modules.business.service.BusinessService;
@@ -44,6 +47,20 @@ public class BusinessController {
         return ResponseEntity.ok(businessService.uploadLogo(TenantContext.current(), file));
     }
 
+    @PostMapping("/logo/upload-intent")
+    public ResponseEntity<PresignedUpload> createLogoUpload(
+        @Valid @RequestBody UploadIntentRequest request
+    ) {
+        return ResponseEntity.ok(businessService.createLogoUploadIntent(TenantContext.current(), request));
+    }
+
+    @PostMapping("/logo/confirm")
+    public ResponseEntity<BusinessResponse> confirmLogoUpload(
+        @Valid @RequestBody ConfirmLogoRequest request
+    ) {
+        return ResponseEntity.ok(businessService.confirmLogoUpload(TenantContext.current(), request.key()));
+    }
+
     @DeleteMapping("/logo")
     public ResponseEntity<Void> deleteLogo() {
         businessService.deleteLogo(TenantContext.current());
@@ -0,0 +1,7 @@
+package com.waiveliability.modules.business.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record ConfirmLogoRequest(
+    @NotBlank String key
+) {}
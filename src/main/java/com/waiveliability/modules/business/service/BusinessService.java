@@ -1,7 +1,11 @@
 package com.waiveliability.modules.business.service;
 
 import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.common.storage.PresignedUpload;
+import com.waiveliability.common.storage.PresignedUrlCache;
 import com.waiveliability.common.storage.S3Service;
+import com.waiveliability.common.storage.StoredObject;
+import com.waiveliability.common.storage.UploadIntentRequest;
 import com.waiveliability.modules.business.domain.TenantBranding;
 import com.waiveliability.modules.business.dto.BusinessResponse;
 import com.waiveliability.modules.business.dto.PublicBrandingResponse;
@@ -10,9 +14,13 @@ import com.waiveliability.modules.business.dto.UpdateBusinessRequest;
 import com.waiveliability.modules.business.repository.TenantBrandingRepository;
 import com.waiveliability.modules.identity.domain.Tenant;
 import com.waiveliability.modules.identity.repository.TenantRepository;
+import com.waiveliability.modules.identity.service.TenantChangedEvent;
+import com.waiveliability.modules.identity.service.TenantSlugCache;
+import com.waiveliability.modules.identity.service.TenantSnapshot;
 import com.waiveliability.security.CheckPlanLimit;
 import com.waiveliability.security.PlanFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,10 +41,14 @@ public class BusinessService {
         "image/jpeg", "image/png", "image/webp"
     );
     private static final Duration LOGO_URL_EXPIRY = Duration.ofMinutes(15);
+    private static final Duration LOGO_UPLOAD_URL_EXPIRY = Duration.ofMinutes(10);
 
     private final TenantRepository tenantRepository;
     private final TenantBrandingRepository tenantBrandingRepository;
     private final S3Service s3Service;
+    private final PresignedUrlCache presignedUrlCache;
+    private final TenantSlugCache tenantSlugCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public BusinessResponse getBusiness(UUID tenantId) {
@@ -54,6 +66,7 @@ public class BusinessService {
         tenant.setPhone(req.phone());
         tenant.setWebsiteUrl(req.websiteUrl());
         tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(tenant.getId(), tenant.getSlug()));
         TenantBranding branding = getOrCreateBranding(tenant);
         return toBusinessResponse(tenant, branding);
     }
@@ -70,24 +83,19 @@ public class BusinessService {
         return toBusinessResponse(tenant, branding);
     }
 
+    /**
+     * Uploads a logo sent through the API. {@link #createLogoUploadIntent} lets clients upload
+     * straight to storage instead, without the file passing through this service.
+     */
     public BusinessResponse uploadLogo(UUID tenantId, MultipartFile file) {
         Tenant tenant = requireTenant(tenantId);
 
         String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
-            throw new ApiException(HttpStatus.BAD_REQUEST,
-                "Logo must be a JPEG, PNG, or WebP image");
-        }
-
-        if (file.getSize() > MAX_LOGO_SIZE_BYTES) {
-            throw new ApiException(HttpStatus.BAD_REQUEST,
-                "Logo must be 5 MB or smaller");
-        }
+        checkLogo(contentType, file.getSize());
 
         TenantBranding branding = getOrCreateBranding(tenant);
 
-        String extension = extensionFor(contentType);
-        String key = "logos/" + tenantId + "/" + UUID.randomUUID() + "." + extension;
+        String key = newLogoKey(tenantId, contentType);
 
         // Upload new object first — if this fails, DB is unchanged and old logo is safe
         try {
@@ -97,15 +105,39 @@ public class BusinessService {
                 "Failed to read uploaded file", e);
         }
 
-        String oldKey = branding.getLogoS3Key();
-        branding.setLogoS3Key(key);
-        tenantBrandingRepository.save(branding);
+        bindLogo(tenantId, branding, key);
+        return toBusinessResponse(tenant, branding);
+    }
 
-        // Delete old logo after DB commit — a leaked S3 object is better than a broken key in DB
-        if (oldKey != null && oldKey.startsWith("logos/" + tenantId + "/")) {
-            s3Service.delete(oldKey);
+    /**
+     * Signs a PUT for uploading a logo straight to storage. Once the upload is done the client
+     * calls {@link #confirmLogoUpload} with the returned key.
+     */
+    @Transactional(readOnly = true)
+    public PresignedUpload createLogoUploadIntent(UUID tenantId, UploadIntentRequest req) {
+        requireTenant(tenantId);
+        checkLogo(req.contentType(), req.contentLength());
+        String key = newLogoKey(tenantId, req.contentType());
+        return s3Service.generateSignedUpload(key, req.contentType(), req.contentLength(), LOGO_UPLOAD_URL_EXPIRY);
+    }
+
+    /**
+     * Makes an uploaded object the tenant's logo after checking with a HEAD request that it
+     * exists, belongs to the tenant, and is an allowed image within the size limit.
+     */
+    public BusinessResponse confirmLogoUpload(UUID tenantId, String key) {
+        Tenant tenant = requireTenant(tenantId);
+        if (!key.startsWith(logoPrefix(tenantId)) || key.contains("..")) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid logo key");
         }
+        StoredObject object = s3Service.head(key)
+            .orElseThrow(() -> new ApiException(HttpStatus.BAD_REQUEST, "Logo upload not found"));
+        checkLogo(object.contentType(), object.contentLength());
 
+        TenantBranding branding = getOrCreateBranding(tenant);
+        if (!key.equals(branding.getLogoS3Key())) {
+            bindLogo(tenantId, branding, key);
+        }
         return toBusinessResponse(tenant, branding);
     }
 
@@ -122,16 +154,15 @@ public class BusinessService {
 
     @Transactional(readOnly = true)
     public PublicBrandingResponse getPublicBranding(String slug) {
-        Tenant tenant = tenantRepository.findBySlug(slug)
-            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Tenant not found"));
+        TenantSnapshot tenant = tenantSlugCache.require(slug);
 
-        TenantBranding branding = tenantBrandingRepository.findById(tenant.getId())
-            .orElse(emptyBranding(tenant));
+        TenantBranding branding = tenantBrandingRepository.findById(tenant.id())
+            .orElseGet(() -> TenantBranding.builder().build());
 
         String logoUrl = resolveLogoUrl(branding);
 
         return new PublicBrandingResponse(
-            tenant.getName(),
+            tenant.name(),
             branding.getPrimaryColor(),
             branding.getBgColor(),
             branding.getFontFamily(),
@@ -167,7 +198,7 @@ public class BusinessService {
         if (branding.getLogoS3Key() == null) {
             return null;
         }
-        return s3Service.generateSignedUrl(branding.getLogoS3Key(), LOGO_URL_EXPIRY);
+        return presignedUrlCache.get(branding.getLogoS3Key(), LOGO_URL_EXPIRY);
     }
 
     private BusinessResponse toBusinessResponse(Tenant tenant, TenantBranding branding) {
@@ -195,6 +226,37 @@ public class BusinessService {
         );
     }
 
+    private void checkLogo(String contentType, long size) {
+        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                "Logo must be a JPEG, PNG, or WebP image");
+        }
+
+        if (size > MAX_LOGO_SIZE_BYTES) {
+            throw new ApiException(HttpStatus.BAD_REQUEST,
+                "Logo must be 5 MB or smaller");
+        }
+    }
+
+    private String newLogoKey(UUID tenantId, String contentType) {
+        return logoPrefix(tenantId) + UUID.randomUUID() + "." + extensionFor(contentType);
+    }
+
+    private static String logoPrefix(UUID tenantId) {
+        return "logos/" + tenantId + "/";
+    }
+
+    private void bindLogo(UUID tenantId, TenantBranding branding, String key) {
+        String oldKey = branding.getLogoS3Key();
+        branding.setLogoS3Key(key);
+        tenantBrandingRepository.save(branding);
+
+        // Delete old logo after DB commit — a leaked S3 object is better than a broken key in DB
+        if (oldKey != null && oldKey.startsWith(logoPrefix(tenantId))) {
+            s3Service.delete(oldKey);
+        }
+    }
+
     private String extensionFor(String contentType) {
         return switch (contentType) {
             case "image/jpeg" -> "jpg";
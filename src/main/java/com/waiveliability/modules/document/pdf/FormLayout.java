@@ -0,0 +1,157 @@
+package com.waiveliability.modules.document.pdf;
+
+import com.waiveliability.modules.forms.domain.Form;
+import com.waiveliability.modules.forms.domain.FormField;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * The static part of a form's PDF, prepared once per form: title, description, labels and
+ * HTML content blocks, sanitized and wrapped into lines using the fonts' real metrics.
+ * Rendering a submission only has to flow its answers and signature around these blocks.
+ */
+public record FormLayout(UUID formId, List<String> titleLines, List<String> descriptionLines, List<Block> blocks) {
+
+    static final float TITLE_FONT_SIZE = 18;
+    static final float DESCRIPTION_FONT_SIZE = 11;
+    static final float LABEL_FONT_SIZE = 10;
+    static final float CONTENT_FONT_SIZE = 9;
+
+    private static final float CONTENT_INDENT = 12;
+    private static final Pattern BR = Pattern.compile("<br\\s*/?>");
+    private static final Pattern LI_OPEN = Pattern.compile("<li\\s*>");
+    private static final Pattern TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public sealed interface Block permits ContentBlock, AnswerBlock {
+        List<String> labelLines();
+    }
+
+    /**
+     * Static text from a "content" field, as wrapped lines. An empty line is a paragraph gap.
+     */
+    public record ContentBlock(List<String> labelLines, List<Line> lines) implements Block {}
+
+    /**
+     * A question whose answer is looked up by field id at render time.
+     */
+    public record AnswerBlock(List<String> labelLines, String fieldId) implements Block {}
+
+    public record Line(String text, TextStyle style) {}
+
+    public static FormLayout compile(Form form, List<FormField> fields, float contentWidth) {
+        PdfFonts fonts = PdfFonts.current();
+        try {
+            List<Block> blocks = new ArrayList<>(fields.size());
+            for (FormField field : fields) {
+                List<String> label = wrap(field.getLabel() + ":", fonts.bold, LABEL_FONT_SIZE, contentWidth);
+                if ("content".equals(field.getFieldType())) {
+                    // Content fields display their static text instead of an answer
+                    String content = field.getContent();
+                    if (content != null && !content.isBlank()) {
+                        blocks.add(new ContentBlock(label,
+                            parseHtml(content, fonts, contentWidth - CONTENT_INDENT)));
+                    }
+                } else {
+                    blocks.add(new AnswerBlock(label, field.getId().toString()));
+                }
+            }
+            return new FormLayout(
+                form.getId(),
+                wrap(form.getName(), fonts.bold, TITLE_FONT_SIZE, contentWidth),
+                form.getDescription() != null
+                    ? wrap(form.getDescription(), fonts.regular, DESCRIPTION_FONT_SIZE, contentWidth)
+                    : List.of(),
+                List.copyOf(blocks));
+        } catch (IOException e) {
+            // Standard 14 font metrics are bundled with PDFBox, so this means a broken install
+            throw new UncheckedIOException("Failed to measure text for form " + form.getId(), e);
+        }
+    }
+
+    /**
+     * Converts basic HTML (paragraph breaks, list items, bold and italic) into wrapped lines.
+     */
+    static List<Line> parseHtml(String html, PdfFonts fonts, float width) throws IOException {
+        // Convert <li> to bullet points and <br> to newlines
+        String text = LI_OPEN.matcher(BR.matcher(html).replaceAll("\n")).replaceAll("\n• ")
+            .replace("</li>", "");
+
+        List<Line> lines = new ArrayList<>();
+        boolean inBold = false;
+        boolean inItalic = false;
+        for (String rawLine : text.split("\n")) {
+            if (rawLine.isBlank()) {
+                lines.add(new Line("", TextStyle.REGULAR));
+                continue;
+            }
+
+            // Track formatting state from opening/closing tags
+            inBold = inBold || rawLine.contains("<b>") || rawLine.contains("<strong>");
+            inItalic = inItalic || rawLine.contains("<i>") || rawLine.contains("<em>");
+            TextStyle style = inBold ? TextStyle.BOLD : inItalic ? TextStyle.ITALIC : TextStyle.REGULAR;
+
+            String plain = TAG.matcher(rawLine).replaceAll("");
+            for (String wrapped : wrap(plain, fonts.forStyle(style), CONTENT_FONT_SIZE, width)) {
+                lines.add(new Line(wrapped, style));
+            }
+
+            inBold = inBold && !(rawLine.contains("</b>") || rawLine.contains("</strong>"));
+            inItalic = inItalic && !(rawLine.contains("</i>") || rawLine.contains("</em>"));
+        }
+        return List.copyOf(lines);
+    }
+
+    /**
+     * Sanitizes text and splits it into lines no wider than {@code width}. Words too long for a
+     * line on their own are broken between characters.
+     */
+    public static List<String> wrap(String text, PDFont font, float fontSize, float width) throws IOException {
+        List<String> lines = new ArrayList<>();
+        float spaceWidth = PdfFonts.width(font, fontSize, " ");
+        StringBuilder line = new StringBuilder();
+        float lineWidth = 0;
+        for (String word : WHITESPACE.split(PdfFonts.sanitize(text).strip())) {
+            if (word.isEmpty()) continue;
+            float wordWidth = PdfFonts.width(font, fontSize, word);
+
+            if (wordWidth > width) {
+                // Flush the current line, then hard-break the word across lines
+                if (!line.isEmpty()) {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                }
+                int start = 0;
+                for (int end = 1; end <= word.length(); end++) {
+                    if (PdfFonts.width(font, fontSize, word.substring(start, end)) > width && end - 1 > start) {
+                        lines.add(word.substring(start, end - 1));
+                        start = end - 1;
+                    }
+                }
+                line.append(word, start, word.length());
+                lineWidth = PdfFonts.width(font, fontSize, line.toString());
+                continue;
+            }
+
+            if (!line.isEmpty() && lineWidth + spaceWidth + wordWidth > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+                lineWidth = 0;
+            }
+            if (!line.isEmpty()) {
+                line.append(' ');
+                lineWidth += spaceWidth;
+            }
+            line.append(word);
+            lineWidth += wordWidth;
+        }
+        if (!line.isEmpty()) lines.add(line.toString());
+        return List.copyOf(lines);
+    }
+}
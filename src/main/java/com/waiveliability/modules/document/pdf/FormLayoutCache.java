@@ -0,0 +1,55 @@
+package com.waiveliability.modules.document.pdf;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waiveliability.common.cache.CacheInvalidationBus;
+import com.waiveliability.modules.forms.domain.Form;
+import com.waiveliability.modules.forms.repository.FormFieldRepository;
+import com.waiveliability.modules.forms.service.FormChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Compiled {@link FormLayout}s by form id. Evicted on every instance when the form changes.
+ */
+@Component
+public class FormLayoutCache {
+
+    static final String CACHE_NAME = "form-layouts";
+    private static final Duration IDLE_TTL = Duration.ofHours(1);
+    private static final long MAX_ENTRIES = 1_000;
+
+    private final FormFieldRepository formFieldRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<UUID, FormLayout> cache;
+
+    public FormLayoutCache(FormFieldRepository formFieldRepository,
+                           CacheInvalidationBus invalidationBus,
+                           MeterRegistry meterRegistry) {
+        this.formFieldRepository = formFieldRepository;
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterAccess(IDLE_TTL)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        invalidationBus.register(CACHE_NAME, formId -> cache.invalidate(UUID.fromString(formId)));
+    }
+
+    public FormLayout get(Form form) {
+        return cache.get(form.getId(), id -> FormLayout.compile(
+            form, formFieldRepository.findByFormIdOrderByFieldOrder(id), PdfRenderer.CONTENT_WIDTH));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFormChanged(FormChangedEvent event) {
+        invalidationBus.publish(CACHE_NAME, event.formId().toString());
+    }
+}
@@ -0,0 +1,94 @@
+package com.waiveliability.modules.document.pdf;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import static com.waiveliability.modules.document.pdf.PdfRenderer.MARGIN;
+import static com.waiveliability.modules.document.pdf.PdfRenderer.PAGE_HEIGHT;
+import static com.waiveliability.modules.document.pdf.PdfRenderer.PAGE_WIDTH;
+
+/**
+ * A cursor that flows content down A4 pages, starting a new page whenever the next piece
+ * would cross the bottom margin. Callers reserve space for anything that must stay together
+ * with {@link #ensureSpace} before drawing it.
+ */
+final class PageFlow implements Closeable {
+
+    // Leaves room below the content for the page number footer
+    static final float BOTTOM = MARGIN + 16;
+    private static final float LINE_SPACING = 4;
+
+    private final PDDocument doc;
+    private PDPageContentStream cs;
+    private float y;
+
+    PageFlow(PDDocument doc) throws IOException {
+        this.doc = doc;
+        newPage();
+    }
+
+    static float lineHeight(float fontSize) {
+        return fontSize + LINE_SPACING;
+    }
+
+    void newPage() throws IOException {
+        if (cs != null) cs.close();
+        PDPage page = new PDPage(PDRectangle.A4);
+        doc.addPage(page);
+        cs = new PDPageContentStream(doc, page);
+        cs.setLineWidth(0.5f);
+        y = PAGE_HEIGHT - MARGIN;
+    }
+
+    /**
+     * Starts a new page unless {@code height} points fit above the bottom margin. Content taller
+     * than a whole page is left to break wherever it falls.
+     */
+    void ensureSpace(float height) throws IOException {
+        if (y - height < BOTTOM && y < PAGE_HEIGHT - MARGIN) {
+            newPage();
+        }
+    }
+
+    void text(String text, PDFont font, float fontSize, float x) throws IOException {
+        ensureSpace(fontSize);
+        cs.beginText();
+        cs.setFont(font, fontSize);
+        cs.newLineAtOffset(x, y);
+        cs.showText(text);
+        cs.endText();
+        y -= lineHeight(fontSize);
+    }
+
+    /**
+     * Moves down by {@code height}. Gaps never carry over to the top of a new page.
+     */
+    void gap(float height) {
+        y = Math.max(y - height, BOTTOM);
+    }
+
+    void rule() throws IOException {
+        ensureSpace(1);
+        cs.moveTo(MARGIN, y);
+        cs.lineTo(PAGE_WIDTH - MARGIN, y);
+        cs.stroke();
+    }
+
+    void image(PDImageXObject image, float x, float width, float height) throws IOException {
+        ensureSpace(height);
+        cs.drawImage(image, x, y - height, width, height);
+        y -= height;
+    }
+
+    @Override
+    public void close() throws IOException {
+        cs.close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.waiveliability.modules.document.pdf;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.font.encoding.GlyphList;
+import org.apache.pdfbox.pdmodel.font.encoding.WinAnsiEncoding;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * The standard fonts used in submission PDFs, created once per rendering thread rather than
+ * once per document. Font objects are mutable COS structures, so they are not shared across
+ * threads.
+ */
+public final class PdfFonts {
+
+    private static final ThreadLocal<PdfFonts> CURRENT = ThreadLocal.withInitial(PdfFonts::new);
+
+    // Characters the standard fonts can show: those with a glyph in WinAnsiEncoding
+    private static final BitSet ENCODABLE = new BitSet(0x2200);
+
+    static {
+        GlyphList glyphs = GlyphList.getAdobeGlyphList();
+        for (String name : WinAnsiEncoding.INSTANCE.getCodeToNameMap().values()) {
+            String unicode = glyphs.toUnicode(name);
+            if (unicode != null && unicode.length() == 1) {
+                ENCODABLE.set(unicode.charAt(0));
+            }
+        }
+    }
+
+    public final PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    public final PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+    public final PDType1Font italic = new PDType1Font(Standard14Fonts.FontName.HELVETICA_OBLIQUE);
+
+    private PdfFonts() {
+    }
+
+    public static PdfFonts current() {
+        return CURRENT.get();
+    }
+
+    public PDType1Font forStyle(TextStyle style) {
+        return switch (style) {
+            case BOLD -> bold;
+            case ITALIC -> italic;
+            default -> regular;
+        };
+    }
+
+    /**
+     * Width of already-sanitized text in points, from the font's metrics.
+     */
+    public static float width(PDFont font, float fontSize, String text) throws IOException {
+        return font.getStringWidth(text) / 1000f * fontSize;
+    }
+
+    /**
+     * Replaces characters the standard fonts cannot encode with '?'. Tabs and other whitespace
+     * become spaces.
+     */
+    public static String sanitize(String text) {
+        if (text == null) return "";
+        StringBuilder safe = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (ENCODABLE.get(c)) continue;
+            if (safe == null) safe = new StringBuilder(text);
+            safe.setCharAt(i, Character.isWhitespace(c) ? ' ' : '?');
+        }
+        return safe != null ? safe.toString() : text;
+    }
+}
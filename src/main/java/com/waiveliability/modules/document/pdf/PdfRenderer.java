@@ -0,0 +1,214 @@
+package com.waiveliability.modules.document.pdf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDPageContentStream.AppendMode;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Lays out one submission on top of its form's precompiled {@link FormLayout}, flowing onto
+ * as many pages as it needs. Labels stay with the first line of their answer, the signature
+ * stays with its label, and every page is numbered once the document is complete.
+ */
+@Component
+@Slf4j
+public class PdfRenderer {
+
+    static final float MARGIN = 50f;
+    static final float PAGE_WIDTH = PDRectangle.A4.getWidth();
+    static final float PAGE_HEIGHT = PDRectangle.A4.getHeight();
+    static final float CONTENT_WIDTH = PAGE_WIDTH - 2 * MARGIN;
+    private static final DateTimeFormatter DATE_FMT =
+        DateTimeFormatter.ofPattern("MMMM d, yyyy 'at' h:mm a z")
+            .withZone(ZoneId.of("UTC"));
+    private static final float LABEL_FONT_SIZE = FormLayout.LABEL_FONT_SIZE;
+    private static final float INDENT = 12;
+    private static final long MAX_MAIN_MEMORY_BYTES = 1024 * 1024;
+
+    /**
+     * The per-submission data to draw into a layout. {@code signature} is the PNG bytes, or null
+     * if there is none; {@code signatureMissing} marks a signature that could not be loaded.
+     */
+    public record SubmissionContent(
+        UUID submissionId,
+        String submitterName,
+        String submitterEmail,
+        Map<String, Object> answers,
+        byte[] signature,
+        boolean signatureMissing,
+        Instant submittedAt
+    ) {}
+
+    public void render(FormLayout layout, SubmissionContent content, OutputStream out) throws IOException {
+        PdfFonts fonts = PdfFonts.current();
+
+        // Pages past the in-memory budget spill to a scratch file instead of growing the heap
+        try (PDDocument doc = new PDDocument(MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY_BYTES).streamCache)) {
+            try (PageFlow flow = new PageFlow(doc)) {
+                // Title
+                for (String line : layout.titleLines()) {
+                    flow.text(line, fonts.bold, FormLayout.TITLE_FONT_SIZE, MARGIN);
+                }
+                flow.gap(6);
+
+                // Description
+                if (!layout.descriptionLines().isEmpty()) {
+                    for (String line : layout.descriptionLines()) {
+                        flow.text(line, fonts.regular, FormLayout.DESCRIPTION_FONT_SIZE, MARGIN);
+                    }
+                    flow.gap(4);
+                }
+
+                // Divider line
+                flow.rule();
+                flow.gap(16);
+
+                // Submitter info
+                if (content.submitterName() != null || content.submitterEmail() != null) {
+                    flow.ensureSpace(3 * PageFlow.lineHeight(LABEL_FONT_SIZE));
+                    flow.text("Submitted by:", fonts.bold, LABEL_FONT_SIZE, MARGIN);
+                    flow.gap(2);
+                    if (content.submitterName() != null) {
+                        drawAnswer(flow, "Name: " + content.submitterName(), fonts);
+                        flow.gap(8);
+                    }
+                    if (content.submitterEmail() != null) {
+                        drawAnswer(flow, "Email: " + content.submitterEmail(), fonts);
+                        flow.gap(14);
+                    }
+                }
+
+                // Field answers
+                for (FormLayout.Block block : layout.blocks()) {
+                    if (block instanceof FormLayout.ContentBlock contentBlock) {
+                        drawLabel(flow, block, fonts, FormLayout.CONTENT_FONT_SIZE);
+                        flow.gap(6);
+                        drawLines(flow, contentBlock, fonts);
+                        flow.gap(12);
+                        continue;
+                    }
+
+                    FormLayout.AnswerBlock answerBlock = (FormLayout.AnswerBlock) block;
+                    String answer = answerString(content.answers().get(answerBlock.fieldId()));
+                    drawLabel(flow, block, fonts, LABEL_FONT_SIZE);
+                    flow.gap(2);
+                    drawAnswer(flow, answer != null ? answer : "(not provided)", fonts);
+                    flow.gap(10);
+                }
+
+                // Signature image, kept on one page with its label
+                if (content.signature() != null || content.signatureMissing()) {
+                    flow.gap(10);
+                    PDImageXObject sigImage = loadSignature(doc, content);
+                    float sigWidth = 0;
+                    float sigHeight = PageFlow.lineHeight(FormLayout.CONTENT_FONT_SIZE);
+                    if (sigImage != null) {
+                        sigWidth = Math.min(200f, CONTENT_WIDTH / 2);
+                        sigHeight = sigWidth * sigImage.getHeight() / sigImage.getWidth();
+                    }
+                    flow.ensureSpace(PageFlow.lineHeight(LABEL_FONT_SIZE) + 6 + sigHeight);
+                    flow.text("Signature:", fonts.bold, LABEL_FONT_SIZE, MARGIN);
+                    flow.gap(6);
+                    if (sigImage != null) {
+                        flow.image(sigImage, MARGIN, sigWidth, sigHeight);
+                        flow.gap(10);
+                    } else {
+                        flow.text("(signature unavailable)", fonts.italic, FormLayout.CONTENT_FONT_SIZE, MARGIN + INDENT);
+                        flow.gap(4);
+                    }
+                }
+
+                // Footer: submission metadata
+                flow.ensureSpace(24 + PageFlow.lineHeight(8));
+                flow.gap(10);
+                flow.rule();
+                flow.gap(14);
+                String footerText = String.format("Submitted: %s  |  ID: %s",
+                    DATE_FMT.format(content.submittedAt()), content.submissionId());
+                flow.text(footerText, fonts.italic, 8, MARGIN);
+            }
+
+            drawPageNumbers(doc, fonts);
+            doc.save(out);
+        }
+    }
+
+    // --- helpers ---
+
+    private PDImageXObject loadSignature(PDDocument doc, SubmissionContent content) {
+        if (content.signature() == null) return null;
+        try {
+            return PDImageXObject.createFromByteArray(doc, content.signature(), "signature");
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not embed signature for submission {}: {}", content.submissionId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Draws a block's label, moving it to the next page if it would be separated from the
+     * first line of what follows it.
+     */
+    private void drawLabel(PageFlow flow, FormLayout.Block block, PdfFonts fonts, float nextFontSize)
+            throws IOException {
+        flow.ensureSpace(block.labelLines().size() * PageFlow.lineHeight(LABEL_FONT_SIZE)
+            + 6 + PageFlow.lineHeight(nextFontSize));
+        for (String line : block.labelLines()) {
+            flow.text(line, fonts.bold, LABEL_FONT_SIZE, MARGIN);
+        }
+    }
+
+    private void drawAnswer(PageFlow flow, String answer, PdfFonts fonts) throws IOException {
+        // Multi-line answers (textareas) keep their line breaks
+        for (String paragraph : answer.split("\\R")) {
+            for (String line : FormLayout.wrap(paragraph, fonts.regular, LABEL_FONT_SIZE, CONTENT_WIDTH - INDENT)) {
+                flow.text(line, fonts.regular, LABEL_FONT_SIZE, MARGIN + INDENT);
+            }
+        }
+    }
+
+    private void drawLines(PageFlow flow, FormLayout.ContentBlock block, PdfFonts fonts) throws IOException {
+        for (FormLayout.Line line : block.lines()) {
+            if (line.text().isEmpty()) {
+                flow.gap(4);
+                continue;
+            }
+            flow.text(line.text(), fonts.forStyle(line.style()), FormLayout.CONTENT_FONT_SIZE, MARGIN + INDENT);
+        }
+    }
+
+    private void drawPageNumbers(PDDocument doc, PdfFonts fonts) throws IOException {
+        int pageCount = doc.getNumberOfPages();
+        for (int i = 0; i < pageCount; i++) {
+            PDPage page = doc.getPage(i);
+            try (PDPageContentStream cs = new PDPageContentStream(doc, page, AppendMode.APPEND, true, true)) {
+                String label = "Page " + (i + 1) + " of " + pageCount;
+                float width = PdfFonts.width(fonts.italic, 8, label);
+                cs.beginText();
+                cs.setFont(fonts.italic, 8);
+                cs.newLineAtOffset(PAGE_WIDTH - MARGIN - width, MARGIN - 20);
+                cs.showText(label);
+                cs.endText();
+            }
+        }
+    }
+
+    private static String answerString(Object val) {
+        if (val == null) return null;
+        if (val instanceof Boolean b) return b ? "Yes" : "No";
+        return val.toString();
+    }
+}
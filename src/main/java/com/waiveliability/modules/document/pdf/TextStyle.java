@@ -0,0 +1,5 @@
+package com.waiveliability.modules.document.pdf;
+
+public enum TextStyle {
+    REGULAR, BOLD, ITALIC
+}
@@ -0,0 +1,52 @@
+package com.waiveliability.modules.document.service;
+
+import com.waiveliability.common.outbox.OutboxHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class PdfGenerationHandler implements OutboxHandler {
+
+    public static final String KIND = "submission.pdf";
+    // A backlog (e.g. after an outage) is rendered in passes of this many submissions
+    private static final int BATCH_SIZE = 10;
+
+    private final DocumentService documentService;
+    private final ThreadPoolTaskExecutor executor;
+
+    public PdfGenerationHandler(DocumentService documentService,
+                                @Qualifier("pdfExecutor") ThreadPoolTaskExecutor executor) {
+        this.documentService = documentService;
+        this.executor = executor;
+    }
+
+    @Override
+    public String kind() {
+        return KIND;
+    }
+
+    @Override
+    public ThreadPoolTaskExecutor executor() {
+        return executor;
+    }
+
+    @Override
+    public void handle(UUID submissionId) throws Exception {
+        documentService.generatePdf(submissionId);
+    }
+
+    @Override
+    public int batchSize() {
+        return BATCH_SIZE;
+    }
+
+    @Override
+    public Map<UUID, Exception> handleBatch(List<UUID> submissionIds) {
+        return documentService.generatePdfs(submissionIds);
+    }
+}
@@ -1,12 +1,13 @@
 package com.waiveliability.modules.forms.controller;
 
+import com.waiveliability.common.ratelimit.RateLimited;
 import com.waiveliability.modules.forms.dto.FormResponse;
-import com.waiveliability.modules.forms.service.FormService;
-import com.waiveliability.modules.identity.repository.TenantRepository;
-import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.modules.forms.service.PublicFormCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -15,19 +16,25 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PublicFormController {
 
-    private final FormService formService;
-    private final TenantRepository tenantRepository;
+    private final PublicFormCache publicFormCache;
 
+    @RateLimited("public-form")
     @GetMapping("/{formId}")
-    public FormResponse getPublicForm(
+    public ResponseEntity<FormResponse> getPublicForm(
         @PathVariable String tenantSlug,
-        @PathVariable UUID formId
+        @PathVariable UUID formId,
+        WebRequest request
     ) {
-        // Look up tenant by slug
-        var tenant = tenantRepository.findBySlug(tenantSlug)
-            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Tenant not found"));
+        // Form must be published and belong to the tenant; 404/403 otherwise
+        PublicFormCache.PublicForm form = publicFormCache.get(tenantSlug, formId);
 
-        // Get form - must be published and belong to tenant
-        return formService.getPublicForm(tenant.getId(), formId);
+        // no-cache: browsers keep the copy but revalidate it, getting a 304 while the ETag matches
+        if (request.checkNotModified(form.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(form.etag())
+            .body(form.form());
     }
 }
@@ -4,6 +4,8 @@ import com.waiveliability.modules.forms.domain.Form;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -14,5 +16,11 @@ public interface FormRepository extends JpaRepository<Form, UUID> {
 
     Optional<Form> findByIdAndTenantId(UUID id, UUID tenantId);
 
+    /**
+     * Loads a tenant's form together with its fields in a single query.
+     */
+    @Query("SELECT f FROM Form f LEFT JOIN FETCH f.fields WHERE f.id = :id AND f.tenantId = :tenantId")
+    Optional<Form> findWithFieldsByIdAndTenantId(@Param("id") UUID id, @Param("tenantId") UUID tenantId);
+
     int countByTenantId(UUID tenantId);
 }
@@ -85,7 +85,7 @@ public class DocumentImportService {
         }
     }
 
-    private List<DetectedField> detectFields(String content) {
+    List<DetectedField> detectFields(String content) {
         List<DetectedField> fields = new ArrayList<>();
         String[] lines = content.split("\n");
 
@@ -0,0 +1,9 @@
+package com.waiveliability.modules.forms.service;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link FormService} whenever a form's content, fields or status change, or the
+ * form is deleted. Listeners that cache form data evict on it.
+ */
+public record FormChangedEvent(UUID tenantId, UUID formId) {}
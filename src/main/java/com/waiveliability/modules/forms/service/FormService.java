@@ -6,6 +6,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.waiveliability.common.exception.ApiException;
 import com.waiveliability.common.exception.PlanLimitExceededException;
 import com.waiveliability.common.pagination.PageResponse;
+import com.waiveliability.modules.billing.service.EntitlementService;
+import com.waiveliability.modules.billing.service.UsageService;
 import com.waiveliability.modules.forms.domain.Form;
 import com.waiveliability.modules.forms.domain.FormField;
 import com.waiveliability.modules.forms.dto.*;
@@ -13,7 +15,9 @@ import com.waiveliability.modules.forms.repository.FormFieldRepository;
 import com.waiveliability.modules.forms.repository.FormRepository;
 import com.waiveliability.modules.identity.domain.Tenant;
 import com.waiveliability.modules.identity.repository.TenantRepository;
+import com.waiveliability.modules.submissions.repository.SubmissionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -21,6 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,13 +34,14 @@ import java.util.UUID;
 @Transactional
 public class FormService {
 
-    private static final int FREE_FORM_LIMIT  = 3;
-    private static final int BASIC_FORM_LIMIT = 10;
-
     private final FormRepository formRepository;
     private final FormFieldRepository formFieldRepository;
     private final TenantRepository tenantRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsageService usageService;
+    private final EntitlementService entitlementService;
+    private final SubmissionRepository submissionRepository;
 
     @Transactional(readOnly = true)
     public PageResponse<FormSummaryResponse> getForms(UUID tenantId, Pageable pageable) {
@@ -57,13 +63,7 @@ public class FormService {
         Tenant tenant = tenantRepository.findById(tenantId)
             .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Tenant not found"));
 
-        int formCount = formRepository.countByTenantId(tenantId);
-        int limit = switch (tenant.getPlan()) {
-            case "free"  -> FREE_FORM_LIMIT;
-            case "basic" -> BASIC_FORM_LIMIT;
-            default      -> Integer.MAX_VALUE; // premium = unlimited
-        };
-        if (formCount >= limit) {
+        if (!entitlementService.get(tenantId).allowsForms(usageService.get(tenantId).forms())) {
             throw new PlanLimitExceededException("forms");
         }
 
@@ -74,6 +74,7 @@ public class FormService {
             .status("draft")
             .build();
         formRepository.save(form);
+        usageService.formsChanged(tenantId, 1);
 
         return toFormResponse(form);
     }
@@ -87,12 +88,16 @@ public class FormService {
 
     @Transactional(readOnly = true)
     public FormResponse getPublicForm(UUID tenantId, UUID formId) {
-        Form form = formRepository.findByIdAndTenantId(formId, tenantId)
+        // Form and fields in one round trip; this backs both the public page and submissions
+        Form form = formRepository.findWithFieldsByIdAndTenantId(formId, tenantId)
             .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Form not found"));
         if (!"published".equals(form.getStatus())) {
             throw new ApiException(HttpStatus.FORBIDDEN, "Form not available");
         }
-        return toFormResponse(form);
+        List<FormField> fields = form.getFields().stream()
+            .sorted(Comparator.comparingInt(FormField::getFieldOrder))
+            .toList();
+        return toFormResponse(form, fields);
     }
 
     public FormResponse updateForm(UUID tenantId, UUID formId, UpdateFormRequest req) {
@@ -122,13 +127,21 @@ public class FormService {
         }
         formFieldRepository.saveAll(newFields);
         formRepository.save(form);
+        eventPublisher.publishEvent(new FormChangedEvent(tenantId, formId));
         return toFormResponse(form);
     }
 
     public void deleteForm(UUID tenantId, UUID formId) {
         Form form = formRepository.findByIdAndTenantId(formId, tenantId)
             .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Form not found"));
+        // Submissions go with the form through ON DELETE CASCADE
+        long submissions = submissionRepository.countByFormId(formId);
         formRepository.delete(form);
+        usageService.formsChanged(tenantId, -1);
+        if (submissions > 0) {
+            usageService.submissionsChanged(tenantId, -submissions);
+        }
+        eventPublisher.publishEvent(new FormChangedEvent(tenantId, formId));
     }
 
     public FormResponse publishForm(UUID tenantId, UUID formId) {
@@ -136,6 +149,7 @@ public class FormService {
             .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Form not found"));
         form.setStatus("published");
         formRepository.save(form);
+        eventPublisher.publishEvent(new FormChangedEvent(tenantId, formId));
         return toFormResponse(form);
     }
 
@@ -144,6 +158,7 @@ public class FormService {
             .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Form not found"));
         form.setStatus("draft");
         formRepository.save(form);
+        eventPublisher.publishEvent(new FormChangedEvent(tenantId, formId));
         return toFormResponse(form);
     }
 
@@ -160,6 +175,7 @@ public class FormService {
             .status("draft")
             .build();
         formRepository.save(copy);
+        usageService.formsChanged(tenantId, 1);
 
         List<FormField> originalFields = formFieldRepository.findByFormIdOrderByFieldOrder(formId);
         List<FormField> copiedFields = originalFields.stream().map(f ->
@@ -182,7 +198,10 @@ public class FormService {
     // --- helpers ---
 
     private FormResponse toFormResponse(Form form) {
-        List<FormField> dbFields = formFieldRepository.findByFormIdOrderByFieldOrder(form.getId());
+        return toFormResponse(form, formFieldRepository.findByFormIdOrderByFieldOrder(form.getId()));
+    }
+
+    private FormResponse toFormResponse(Form form, List<FormField> dbFields) {
         List<FormFieldResponse> fieldResponses = dbFields.stream()
             .map(this::toFieldResponse)
             .toList();
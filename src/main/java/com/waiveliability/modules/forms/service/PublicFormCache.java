@@ -0,0 +1,101 @@
+package com.waiveliability.modules.forms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waiveliability.common.cache.CacheInvalidationBus;
+import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.modules.forms.dto.FormResponse;
+import com.waiveliability.modules.identity.service.TenantSlugCache;
+import com.waiveliability.modules.identity.service.TenantSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Read-through cache of published forms as served on the public form page, keyed by form id.
+ * The tenant slug is resolved separately and must own the cached form. Each entry carries a
+ * strong ETag computed from the serialized response.
+ *
+ * <p>Entries are evicted after any {@link FormChangedEvent} commits, on every instance. Eviction
+ * waits for a load of the same form that is still running, so a load that read the form before
+ * the change cannot outlive it. Drafts and unknown forms are not cached, so publishing takes
+ * effect on the next request.
+ */
+@Component
+public class PublicFormCache {
+
+    static final String CACHE_NAME = "public-forms";
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final long MAX_ENTRIES = 10_000;
+
+    private final FormService formService;
+    private final TenantSlugCache tenantSlugCache;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<UUID, PublicForm> cache;
+
+    public PublicFormCache(FormService formService,
+                           TenantSlugCache tenantSlugCache,
+                           ObjectMapper objectMapper,
+                           CacheInvalidationBus invalidationBus,
+                           MeterRegistry meterRegistry) {
+        this.formService = formService;
+        this.tenantSlugCache = tenantSlugCache;
+        this.objectMapper = objectMapper;
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        invalidationBus.register(CACHE_NAME, formId -> cache.invalidate(UUID.fromString(formId)));
+    }
+
+    /**
+     * Returns the published form, loading and caching it on a miss. Throws 404 for an unknown
+     * tenant or form and 403 for a form that is not published.
+     */
+    public PublicForm get(String tenantSlug, UUID formId) {
+        TenantSnapshot tenant = tenantSlugCache.require(tenantSlug);
+        PublicForm form = cache.get(formId, id -> load(tenant.id(), id));
+        if (!form.tenantId().equals(tenant.id())) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "Form not found");
+        }
+        return form;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFormChanged(FormChangedEvent event) {
+        invalidationBus.publish(CACHE_NAME, event.formId().toString());
+    }
+
+    // --- helpers ---
+
+    private PublicForm load(UUID tenantId, UUID formId) {
+        FormResponse form = formService.getPublicForm(tenantId, formId);
+        return new PublicForm(tenantId, form, etag(form));
+    }
+
+    private String etag(FormResponse form) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(form));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to compute form ETag", e);
+        }
+    }
+
+    public record PublicForm(UUID tenantId, FormResponse form, String etag) {}
+}
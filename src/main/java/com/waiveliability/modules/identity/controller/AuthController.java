@@ -1,6 +1,7 @@
 package com.waiveliability.modules.identity.controller;
 
 import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.common.ratelimit.RateLimited;
 import com.waiveliability.modules.identity.dto.AuthResponse;
 import com.waiveliability.modules.identity.dto.LoginRequest;
 import com.waiveliability.modules.identity.dto.RegisterRequest;
@@ -25,6 +26,7 @@ public class AuthController {
 
     private final AuthService authService;
 
+    @RateLimited("auth")
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
         @Valid @RequestBody RegisterRequest request,
@@ -34,6 +36,7 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
 
+    @RateLimited("auth")
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(
         @Valid @RequestBody LoginRequest request,
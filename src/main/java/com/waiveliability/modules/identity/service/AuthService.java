@@ -12,6 +12,7 @@ import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -37,6 +38,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final JwtConfig jwtConfig;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AuthResponse register(RegisterRequest req, HttpServletResponse response) {
@@ -50,6 +52,8 @@ public class AuthService {
             .plan(DEFAULT_PLAN)
             .build();
         tenantRepository.save(tenant);
+        // The slug may have been probed before it existed; drop any cached "not found" entry.
+        eventPublisher.publishEvent(new TenantChangedEvent(tenant.getId(), tenant.getSlug()));
 
         User user = User.builder()
             .tenant(tenant)
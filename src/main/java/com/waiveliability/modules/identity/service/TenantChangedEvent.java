@@ -0,0 +1,8 @@
+package com.waiveliability.modules.identity.service;
+
+import java.util.UUID;
+
+/**
+ * Published when fields captured in a {@link TenantSnapshot} change.
+ */
+public record TenantChangedEvent(UUID tenantId, String slug) {}
@@ -0,0 +1,163 @@
+package com.waiveliability.modules.identity.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waiveliability.common.cache.CacheInvalidationBus;
+import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.modules.identity.repository.TenantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves tenant slugs for public endpoints through two cache levels: a short-lived in-process
+ * map in front of a shared Redis entry, falling back to the database. Unknown slugs are cached
+ * too, so probing random slugs does not reach Postgres.
+ *
+ * <p>Tenant updates evict both levels after commit, on every instance. Each eviction also bumps
+ * a per-slug generation in Redis, and a load only writes back if the generation it saw before
+ * reading the database is still current, so a read that raced an update cannot re-cache the old
+ * row for the full TTL. Redis is optional here: if it is unreachable, lookups go straight to the
+ * database.
+ */
+@Component
+@Slf4j
+public class TenantSlugCache {
+
+    static final String CACHE_NAME = "tenant-slugs";
+    private static final String KEY_PREFIX = "tenant:slug:";
+    private static final String GENERATION_PREFIX = "tenant:slug-gen:";
+    private static final String MISSING = "-";
+    private static final Duration LOCAL_TTL = Duration.ofSeconds(60);
+    private static final Duration REDIS_TTL = Duration.ofMinutes(10);
+    private static final Duration REDIS_MISSING_TTL = Duration.ofSeconds(60);
+    private static final long MAX_LOCAL_ENTRIES = 10_000;
+
+    private static final RedisScript<Long> PUT_IF_CURRENT =
+        RedisScript.of(new ClassPathResource("scripts/tenant_slug_put.lua"), Long.class);
+
+    private final TenantRepository tenantRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<String, Optional<TenantSnapshot>> local;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+
+    public TenantSlugCache(TenantRepository tenantRepository,
+                           StringRedisTemplate redisTemplate,
+                           ObjectMapper objectMapper,
+                           CacheInvalidationBus invalidationBus,
+                           MeterRegistry meterRegistry) {
+        this.tenantRepository = tenantRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.invalidationBus = invalidationBus;
+        this.local = Caffeine.newBuilder()
+            .maximumSize(MAX_LOCAL_ENTRIES)
+            .expireAfterWrite(LOCAL_TTL)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME);
+        this.redisHits = redisCounter(meterRegistry, "hit");
+        this.redisMisses = redisCounter(meterRegistry, "miss");
+        this.redisErrors = redisCounter(meterRegistry, "error");
+        invalidationBus.register(CACHE_NAME, local::invalidate);
+    }
+
+    public Optional<TenantSnapshot> find(String slug) {
+        return local.get(slug, this::loadShared);
+    }
+
+    /**
+     * Returns the tenant for {@code slug}, or throws 404.
+     */
+    public TenantSnapshot require(String slug) {
+        return find(slug)
+            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Tenant not found"));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTenantChanged(TenantChangedEvent event) {
+        try {
+            String generationKey = GENERATION_PREFIX + event.slug();
+            redisTemplate.opsForValue().increment(generationKey);
+            redisTemplate.expire(generationKey, REDIS_TTL);
+            redisTemplate.delete(KEY_PREFIX + event.slug());
+        } catch (Exception e) {
+            log.warn("Failed to evict tenant slug {} from Redis: {}", event.slug(), e.getMessage());
+        }
+        invalidationBus.publish(CACHE_NAME, event.slug());
+    }
+
+    // --- helpers ---
+
+    private Optional<TenantSnapshot> loadShared(String slug) {
+        String key = KEY_PREFIX + slug;
+        String generationKey = GENERATION_PREFIX + slug;
+        String generation;
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(key, generationKey));
+            String cached = values != null ? values.get(0) : null;
+            generation = values != null && values.get(1) != null ? values.get(1) : "";
+            if (cached != null) {
+                redisHits.increment();
+                return MISSING.equals(cached)
+                    ? Optional.empty()
+                    : Optional.of(objectMapper.readValue(cached, TenantSnapshot.class));
+            }
+            redisMisses.increment();
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Tenant slug lookup in Redis failed, using database: {}", e.getMessage());
+            return loadFromDatabase(slug);
+        }
+
+        Optional<TenantSnapshot> tenant = loadFromDatabase(slug);
+        try {
+            if (tenant.isPresent()) {
+                store(key, generationKey, generation, objectMapper.writeValueAsString(tenant.get()), REDIS_TTL);
+            } else {
+                store(key, generationKey, generation, MISSING, REDIS_MISSING_TTL);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize tenant snapshot", e);
+        } catch (Exception e) {
+            redisErrors.increment();
+            log.warn("Failed to store tenant slug {} in Redis: {}", slug, e.getMessage());
+        }
+        return tenant;
+    }
+
+    private void store(String key, String generationKey, String generation, String value, Duration ttl) {
+        redisTemplate.execute(PUT_IF_CURRENT, List.of(key, generationKey),
+            generation, value, String.valueOf(ttl.toMillis()));
+    }
+
+    private Optional<TenantSnapshot> loadFromDatabase(String slug) {
+        return tenantRepository.findBySlug(slug).map(TenantSnapshot::of);
+    }
+
+    private static Counter redisCounter(MeterRegistry registry, String result) {
+        return Counter.builder("cache.redis.gets")
+            .description("Redis second-level lookups")
+            .tag("cache", CACHE_NAME)
+            .tag("result", result)
+            .register(registry);
+    }
+}
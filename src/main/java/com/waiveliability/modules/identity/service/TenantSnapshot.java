@@ -0,0 +1,30 @@
+package com.waiveliability.modules.identity.service;
+
+import com.waiveliability.modules.identity.domain.Tenant;
+
+import java.util.UUID;
+
+/**
+ * Immutable copy of the tenant fields needed to serve public pages, as held by
+ * {@link TenantSlugCache}.
+ */
+public record TenantSnapshot(
+    UUID id,
+    String name,
+    String slug,
+    String plan,
+    boolean notificationsEnabled,
+    String notificationEmail
+) {
+
+    public static TenantSnapshot of(Tenant tenant) {
+        return new TenantSnapshot(
+            tenant.getId(),
+            tenant.getName(),
+            tenant.getSlug(),
+            tenant.getPlan(),
+            Boolean.TRUE.equals(tenant.getNotificationsEnabled()),
+            tenant.getNotificationEmail()
+        );
+    }
+}
@@ -2,11 +2,13 @@ package com.waiveliability.modules.notification.controller;
 
 import com.waiveliability.modules.identity.domain.Tenant;
 import com.waiveliability.modules.identity.repository.TenantRepository;
+import com.waiveliability.modules.identity.service.TenantChangedEvent;
 import com.waiveliability.modules.notification.dto.NotificationSettingsResponse;
 import com.waiveliability.modules.notification.dto.UpdateNotificationSettingsRequest;
 import com.waiveliability.security.TenantContext;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class AdminSettingsController {
 
     private final TenantRepository tenantRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * GET /api/v1/admin/settings/notifications - Get notification settings for current tenant
@@ -56,6 +59,7 @@ public class AdminSettingsController {
         tenant.setNotificationsEnabled(request.notificationsEnabled());
         tenant.setNotificationEmail(request.notificationEmail());
         tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(tenant.getId(), tenant.getSlug()));
 
         NotificationSettingsResponse response = new NotificationSettingsResponse(
             tenant.getNotificationsEnabled() != null && tenant.getNotificationsEnabled(),
@@ -3,6 +3,7 @@ package com.waiveliability.modules.notification.service;
 import com.waiveliability.config.EmailConfig;
 import com.waiveliability.modules.billing.domain.Subscription;
 import com.waiveliability.modules.identity.domain.Tenant;
+import com.waiveliability.modules.identity.service.TenantSnapshot;
 import com.waiveliability.modules.submissions.domain.Submission;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -34,15 +35,9 @@ public class EmailService {
     private String baseUrl;
 
     /**
-     * Send submission confirmation to the submitter
+     * Send submission confirmation to the submitter. Called from the outbox, which retries on failure.
      */
-    @Async
-    @Retryable(
-        retryFor = Exception.class,
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
-    public void sendSubmissionConfirmation(Submission submission, Tenant tenant) {
+    public void sendSubmissionConfirmation(Submission submission, TenantSnapshot tenant) {
         if (submission.getSubmitterEmail() == null || submission.getSubmitterEmail().isBlank()) {
             log.debug("No submitter email, skipping confirmation email");
             return;
@@ -52,13 +47,13 @@ public class EmailService {
             Map<String, Object> model = new HashMap<>();
             model.put("submitterName", submission.getSubmitterName() != null ? submission.getSubmitterName() : "Valued Customer");
             model.put("formName", submission.getForm().getName());
-            model.put("tenantName", tenant.getName());
+            model.put("tenantName", tenant.name());
             model.put("submittedAt", submission.getSubmittedAt());
             model.put("submissionId", submission.getId());
 
             sendEmail(
                 submission.getSubmitterEmail(),
-                "We Received Your Submission - " + tenant.getName(),
+                "We Received Your Submission - " + tenant.name(),
                 "submission-confirmation.html",
                 model
             );
@@ -73,31 +68,26 @@ public class EmailService {
     }
 
     /**
-     * Send new submission alert to tenant admin (only for Basic+ plans)
+     * Send new submission alert to tenant admin (only for Basic+ plans). Called from the outbox,
+     * which retries on failure.
      */
-    @Async
-    @Retryable(
-        retryFor = Exception.class,
-        maxAttempts = 3,
-        backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
-    public void sendNewSubmissionAlert(Submission submission, Tenant tenant, Subscription.PlanType plan) {
+    public void sendNewSubmissionAlert(Submission submission, TenantSnapshot tenant, Subscription.PlanType plan) {
         // Plan gate: only send for Basic+ plans
         if (!isBasicOrHigher(plan)) {
-            log.debug("Tenant {} is on {} plan, skipping new submission alert", tenant.getSlug(), plan);
+            log.debug("Tenant {} is on {} plan, skipping new submission alert", tenant.slug(), plan);
             return;
         }
 
-        if (!Boolean.TRUE.equals(tenant.getNotificationsEnabled()) ||
-            tenant.getNotificationEmail() == null ||
-            tenant.getNotificationEmail().isBlank()) {
-            log.debug("Notifications not enabled for tenant {} or no notification email set", tenant.getSlug());
+        if (!tenant.notificationsEnabled() ||
+            tenant.notificationEmail() == null ||
+            tenant.notificationEmail().isBlank()) {
+            log.debug("Notifications not enabled for tenant {} or no notification email set", tenant.slug());
             return;
         }
 
         try {
             Map<String, Object> model = new HashMap<>();
-            model.put("tenantName", tenant.getName());
+            model.put("tenantName", tenant.name());
             model.put("formName", submission.getForm().getName());
             model.put("submitterName", submission.getSubmitterName() != null ? submission.getSubmitterName() : "Not provided");
             model.put("submitterEmail", submission.getSubmitterEmail() != null ? submission.getSubmitterEmail() : "Not provided");
@@ -106,17 +96,17 @@ public class EmailService {
             model.put("statusUrl", baseUrl + "/admin/submissions/" + submission.getId());
 
             sendEmail(
-                tenant.getNotificationEmail(),
+                tenant.notificationEmail(),
                 "New Form Submission - " + submission.getForm().getName(),
                 "new-submission-alert.html",
                 model
             );
-            log.info("Sent new submission alert to {} for submission {}", tenant.getNotificationEmail(), submission.getId());
+            log.info("Sent new submission alert to {} for submission {}", tenant.notificationEmail(), submission.getId());
         } catch (RuntimeException e) {
-            log.error("Failed to send new submission alert email to {}", tenant.getNotificationEmail(), e);
+            log.error("Failed to send new submission alert email to {}", tenant.notificationEmail(), e);
             throw e;
         } catch (Exception e) {
-            log.error("Failed to send new submission alert email to {}", tenant.getNotificationEmail(), e);
+            log.error("Failed to send new submission alert email to {}", tenant.notificationEmail(), e);
             throw new RuntimeException("Failed to send email", e);
         }
     }
@@ -124,7 +114,7 @@ public class EmailService {
     /**
      * Send password reset email to user
      */
-    @Async
+    @Async("mailExecutor")
     @Retryable(
         retryFor = Exception.class,
         maxAttempts = 3,
@@ -158,7 +148,7 @@ public class EmailService {
     /**
      * Send plan upgrade notification to tenant admin
      */
-    @Async
+    @Async("mailExecutor")
     @Retryable(
         retryFor = Exception.class,
         maxAttempts = 3,
@@ -1,8 +1,11 @@
 package com.waiveliability.modules.submissions.controller;
 
+import com.waiveliability.common.pagination.CursorPageResponse;
 import com.waiveliability.common.pagination.PageResponse;
 import com.waiveliability.modules.submissions.dto.SubmissionResponse;
+import com.waiveliability.modules.submissions.dto.SubmissionUrlsResponse;
 import com.waiveliability.modules.submissions.dto.UpdateSubmissionStatusRequest;
+import com.waiveliability.modules.submissions.service.SubmissionExportService;
 import com.waiveliability.modules.submissions.service.SubmissionService;
 import com.waiveliability.security.TenantContext;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,9 +16,13 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -23,7 +30,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AdminSubmissionController {
 
+    // Listings leave out answers unless asked for with include=answers
+    private static final String INCLUDE_ANSWERS = "answers";
+
     private final SubmissionService submissionService;
+    private final SubmissionExportService submissionExportService;
 
     @GetMapping
     public PageResponse<SubmissionResponse> list(
@@ -32,9 +43,31 @@ public class AdminSubmissionController {
         @RequestParam(required = false) String submitterName,
         @RequestParam(required = false) Instant startDate,
         @RequestParam(required = false) Instant endDate,
-        @PageableDefault(size = 20) Pageable pageable) {
-        return submissionService.getSubmissions(
-            TenantContext.current(), formId, status, submitterName, startDate, endDate, pageable);
+        @PageableDefault(size = 20) Pageable pageable,
+        @RequestParam(defaultValue = "") Set<String> include,
+        @RequestParam(defaultValue = "true") boolean includeUrls) {
+        return submissionService.getSubmissions(TenantContext.current(), formId, status, submitterName,
+            startDate, endDate, pageable, include.contains(INCLUDE_ANSWERS), includeUrls);
+    }
+
+    /**
+     * Keyset-paginated listing: pass the previous page's {@code nextCursor} to continue. Unlike
+     * {@link #list}, deep pages cost the same as the first and no count is run unless asked for.
+     */
+    @GetMapping("/cursor")
+    public CursorPageResponse<SubmissionResponse> listByCursor(
+        @RequestParam(required = false) UUID formId,
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String submitterName,
+        @RequestParam(required = false) Instant startDate,
+        @RequestParam(required = false) Instant endDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean includeTotal,
+        @RequestParam(defaultValue = "") Set<String> include,
+        @RequestParam(defaultValue = "true") boolean includeUrls) {
+        return submissionService.getSubmissionsAfter(TenantContext.current(), formId, status, submitterName,
+            startDate, endDate, cursor, size, includeTotal, include.contains(INCLUDE_ANSWERS), includeUrls);
     }
 
     @GetMapping("/export")
@@ -46,11 +79,31 @@ public class AdminSubmissionController {
         @RequestParam(required = false) Instant endDate,
         HttpServletResponse response) throws IOException {
 
-        response.setContentType("text/csv");
+        response.setContentType("text/csv;charset=UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=\"submissions.csv\"");
 
-        PrintWriter writer = response.getWriter();
-        submissionService.exportCsv(
+        // Write straight to the output stream — a PrintWriter would swallow client disconnects
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        submissionExportService.exportCsv(
+            TenantContext.current(), formId, status, submitterName, startDate, endDate, writer);
+    }
+
+    @GetMapping("/export/answers")
+    public void exportAnswersCsv(
+        @RequestParam UUID formId,
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String submitterName,
+        @RequestParam(required = false) Instant startDate,
+        @RequestParam(required = false) Instant endDate,
+        HttpServletResponse response) throws IOException {
+
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"submissions-" + formId + ".csv\"");
+
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        submissionExportService.exportAnswersCsv(
             TenantContext.current(), formId, status, submitterName, startDate, endDate, writer);
     }
 
@@ -59,6 +112,15 @@ public class AdminSubmissionController {
         return submissionService.getSubmission(TenantContext.current(), id);
     }
 
+    /**
+     * Signature and PDF links for one submission, for listings requested with
+     * {@code includeUrls=false}.
+     */
+    @GetMapping("/{id}/urls")
+    public SubmissionUrlsResponse getUrls(@PathVariable UUID id) {
+        return submissionService.getSubmissionUrls(TenantContext.current(), id);
+    }
+
     @PatchMapping("/{id}/status")
     public SubmissionResponse updateStatus(
         @PathVariable UUID id,
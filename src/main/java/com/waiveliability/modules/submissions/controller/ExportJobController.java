@@ -0,0 +1,30 @@
+package com.waiveliability.modules.submissions.controller;
+
+import com.waiveliability.modules.submissions.dto.ExportJobRequest;
+import com.waiveliability.modules.submissions.dto.ExportJobResponse;
+import com.waiveliability.modules.submissions.service.ExportJobService;
+import com.waiveliability.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/submissions/export-jobs")
+@RequiredArgsConstructor
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ExportJobResponse create(@RequestBody ExportJobRequest request) {
+        return exportJobService.submit(TenantContext.current(), request);
+    }
+
+    @GetMapping("/{id}")
+    public ExportJobResponse get(@PathVariable UUID id) {
+        return exportJobService.getJob(TenantContext.current(), id);
+    }
+}
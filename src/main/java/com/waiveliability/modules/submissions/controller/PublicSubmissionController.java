@@ -1,11 +1,13 @@
 package com.waiveliability.modules.submissions.controller;
 
-import com.waiveliability.common.exception.ApiException;
-import com.waiveliability.common.ratelimit.RateLimiterService;
+import com.waiveliability.common.ratelimit.RateLimited;
+import com.waiveliability.common.storage.PresignedUpload;
+import com.waiveliability.common.storage.UploadIntentRequest;
 import com.waiveliability.modules.submissions.dto.SubmissionResponse;
 import com.waiveliability.modules.submissions.dto.SubmitFormRequest;
+import com.waiveliability.modules.submissions.service.SignatureService;
 import com.waiveliability.modules.submissions.service.SubmissionService;
-import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -18,34 +20,35 @@ import java.util.UUID;
 public class PublicSubmissionController {
 
     private final SubmissionService submissionService;
-    private final RateLimiterService rateLimiterService;
+    private final SignatureService signatureService;
 
+    @RateLimited("public-submit")
     @PostMapping("/forms/{formId}/submit")
     @ResponseStatus(HttpStatus.CREATED)
     public SubmissionResponse submitForm(
         @PathVariable String tenantSlug,
         @PathVariable UUID formId,
-        @RequestBody SubmitFormRequest req,
-        HttpServletRequest request) {
-        // Rate limit by IP address
-        String clientIp = getClientIp(request);
-        rateLimiterService.checkRateLimit(clientIp);
-
+        @RequestBody SubmitFormRequest req) {
         return submissionService.submitForm(tenantSlug, formId, req);
     }
 
+    /**
+     * Returns a pre-signed PUT for uploading the signature image straight to storage. The
+     * returned key is then sent as the submission's {@code signatureKey}.
+     */
+    @RateLimited("public-upload")
+    @PostMapping("/forms/{formId}/signature-upload")
+    public PresignedUpload createSignatureUpload(
+        @PathVariable String tenantSlug,
+        @PathVariable UUID formId,
+        @Valid @RequestBody UploadIntentRequest req) {
+        return signatureService.createUploadIntent(tenantSlug, formId, req);
+    }
+
     @GetMapping("/submissions/{submissionId}")
     public SubmissionResponse getSubmission(
         @PathVariable String tenantSlug,
         @PathVariable UUID submissionId) {
         return submissionService.getPublicSubmission(tenantSlug, submissionId);
     }
-
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
-    }
 }
@@ -0,0 +1,74 @@
+package com.waiveliability.modules.submissions.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "export_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Format format;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "filter_hash", nullable = false, length = 64)
+    private String filterHash;
+
+    private UUID formId;
+    private String submissionStatus;
+    private String submitterName;
+    private Instant startDate;
+    private Instant endDate;
+
+    private long rowsWritten;
+    private long bytesWritten;
+
+    @Column(name = "s3_key")
+    private String s3Key;
+
+    private String error;
+
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        Instant now = Instant.now();
+        createdAt = now;
+        updatedAt = now;
+        if (status == null) status = Status.queued;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    public enum Format {
+        csv, ndjson
+    }
+
+    public enum Status {
+        queued, running, completed, failed
+    }
+}
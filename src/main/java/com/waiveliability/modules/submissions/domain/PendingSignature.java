@@ -0,0 +1,35 @@
+package com.waiveliability.modules.submissions.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "pending_signatures")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingSignature {
+
+    @Id
+    @Column(name = "submission_id")
+    private UUID submissionId;
+
+    @Column(name = "s3_key", nullable = false)
+    private String s3Key;
+
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+}
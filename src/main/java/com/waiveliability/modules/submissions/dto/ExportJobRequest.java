@@ -0,0 +1,13 @@
+package com.waiveliability.modules.submissions.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ExportJobRequest(
+    String format,
+    UUID formId,
+    String status,
+    String submitterName,
+    Instant startDate,
+    Instant endDate
+) {}
@@ -0,0 +1,16 @@
+package com.waiveliability.modules.submissions.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ExportJobResponse(
+    UUID id,
+    String status,
+    String format,
+    long rowsWritten,
+    long bytesWritten,
+    String downloadUrl,
+    String error,
+    Instant createdAt,
+    Instant completedAt
+) {}
@@ -0,0 +1,6 @@
+package com.waiveliability.modules.submissions.dto;
+
+public record SubmissionUrlsResponse(
+    String signatureUrl,
+    String pdfUrl
+) {}
@@ -2,7 +2,13 @@ package com.waiveliability.modules.submissions.dto;
 
 import java.util.Map;
 
+/**
+ * A public form submission. The signature comes either inline as a base64 PNG data URI in
+ * {@code signatureData}, or as the {@code signatureKey} of an image the client already uploaded
+ * through a signature upload URL.
+ */
 public record SubmitFormRequest(
     Map<String, Object> answers,
-    String signatureData
+    String signatureData,
+    String signatureKey
 ) {}
@@ -0,0 +1,85 @@
+package com.waiveliability.modules.submissions.repository;
+
+import com.waiveliability.modules.submissions.domain.ExportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ExportJobRepository extends JpaRepository<ExportJob, UUID> {
+
+    Optional<ExportJob> findByIdAndTenantId(UUID id, UUID tenantId);
+
+    Optional<ExportJob> findFirstByTenantIdAndFilterHashAndStatusInOrderByCreatedAtDesc(
+        UUID tenantId, String filterHash, Collection<ExportJob.Status> statuses);
+
+    Optional<ExportJob> findFirstByTenantIdAndFilterHashAndStatusAndCompletedAtAfterOrderByCreatedAtDesc(
+        UUID tenantId, String filterHash, ExportJob.Status status, Instant completedAfter);
+
+    /**
+     * Moves a job from {@code from} to {@code to}. Returns 0 if the job was no longer in {@code from}.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE ExportJob j SET j.status = :to, j.updatedAt = :now WHERE j.id = :id AND j.status = :from")
+    int transition(@Param("id") UUID id, @Param("from") ExportJob.Status from, @Param("to") ExportJob.Status to,
+                   @Param("now") Instant now);
+
+    /**
+     * Records progress in its own transaction so pollers see it while the export is still running.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE ExportJob j SET j.rowsWritten = :rows, j.bytesWritten = :bytes, j.updatedAt = :now WHERE j.id = :id")
+    void updateProgress(@Param("id") UUID id, @Param("rows") long rows, @Param("bytes") long bytes,
+                        @Param("now") Instant now);
+
+    /**
+     * Finishes a job that is still in {@code from}. Returns 0 if it was no longer, e.g. because
+     * it was failed as stale in the meantime.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("""
+        UPDATE ExportJob j SET j.status = :status, j.rowsWritten = :rows, j.bytesWritten = :bytes,
+            j.s3Key = :s3Key, j.updatedAt = :now, j.completedAt = :now
+        WHERE j.id = :id AND j.status = :from
+        """)
+    int complete(@Param("id") UUID id, @Param("from") ExportJob.Status from, @Param("status") ExportJob.Status status,
+                 @Param("rows") long rows, @Param("bytes") long bytes, @Param("s3Key") String s3Key,
+                 @Param("now") Instant now);
+
+    /**
+     * Fails a job that is still in {@code from}. Returns 0 if it had already finished.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("""
+        UPDATE ExportJob j SET j.status = :status, j.error = :error, j.updatedAt = :now, j.completedAt = :now
+        WHERE j.id = :id AND j.status = :from
+        """)
+    int fail(@Param("id") UUID id, @Param("from") ExportJob.Status from, @Param("status") ExportJob.Status status,
+             @Param("error") String error, @Param("now") Instant now);
+
+    /**
+     * Fails jobs in {@code status}, across all tenants, not updated since {@code staleBefore},
+     * e.g. because the instance running them was restarted. This also frees their filters for
+     * fresh jobs.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("""
+        UPDATE ExportJob j SET j.status = :failed, j.error = 'Export was interrupted', j.updatedAt = :now,
+            j.completedAt = :now
+        WHERE j.status = :status AND j.updatedAt < :staleBefore
+        """)
+    int failStale(@Param("status") ExportJob.Status status, @Param("failed") ExportJob.Status failed,
+                  @Param("staleBefore") Instant staleBefore, @Param("now") Instant now);
+}
@@ -0,0 +1,9 @@
+package com.waiveliability.modules.submissions.repository;
+
+import com.waiveliability.modules.submissions.domain.PendingSignature;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface PendingSignatureRepository extends JpaRepository<PendingSignature, UUID> {
+}
@@ -0,0 +1,19 @@
+package com.waiveliability.modules.submissions.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat projection of the submission columns written by the CSV export.
+ * Selected directly from the cursor so no entities are hydrated per row.
+ * {@code formData} is only selected for exports that include answers, and is null otherwise.
+ */
+public record SubmissionExportRow(
+    UUID id,
+    UUID formId,
+    String submitterName,
+    String submitterEmail,
+    String status,
+    Instant submittedAt,
+    String formData
+) {}
@@ -0,0 +1,21 @@
+package com.waiveliability.modules.submissions.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat projection of the submission columns shown in admin listings, so listing a page does
+ * not hydrate entities. {@code formData} is only selected when answers are requested, and is
+ * null otherwise.
+ */
+public record SubmissionListRow(
+    UUID id,
+    UUID formId,
+    String submitterName,
+    String submitterEmail,
+    String status,
+    Instant submittedAt,
+    String signatureS3Key,
+    String pdfS3Key,
+    String formData
+) {}
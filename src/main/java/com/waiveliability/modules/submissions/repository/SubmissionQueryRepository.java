@@ -0,0 +1,38 @@
+package com.waiveliability.modules.submissions.repository;
+
+import com.waiveliability.modules.submissions.domain.Submission;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-based queries on submissions that Spring Data derived queries can't express.
+ */
+public interface SubmissionQueryRepository {
+
+    /**
+     * Streams export rows matching the specification from a forward-only JDBC cursor.
+     * The raw form_data JSON is only transferred when {@code includeFormData} is set.
+     * Must be consumed inside a transaction, and the stream must be closed by the caller.
+     */
+    Stream<SubmissionExportRow> streamExportRows(Specification<Submission> spec, boolean includeFormData);
+
+    /**
+     * Returns a page of listing rows matching the specification, newest first unless the pageable
+     * is sorted. The raw form_data JSON is only transferred when {@code includeFormData} is set.
+     */
+    Page<SubmissionListRow> findListRows(Specification<Submission> spec, Pageable pageable, boolean includeFormData);
+
+    /**
+     * Returns up to {@code limit} listing rows matching the specification, newest first, that
+     * sort after the given {@code (submittedAt, id)} position, or from the start when it is null.
+     * Seeking on the sort key instead of skipping an offset keeps deep pages as cheap as the first.
+     */
+    List<SubmissionListRow> findListRowsAfter(Specification<Submission> spec, Instant submittedAt, UUID id,
+                                              int limit, boolean includeFormData);
+}
@@ -0,0 +1,138 @@
+package com.waiveliability.modules.submissions.repository;
+
+import com.waiveliability.modules.submissions.domain.Submission;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class SubmissionQueryRepositoryImpl implements SubmissionQueryRepository {
+
+    // Rows pulled per round trip; Postgres only honours this inside a transaction
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<SubmissionExportRow> streamExportRows(Specification<Submission> spec, boolean includeFormData) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SubmissionExportRow> query = cb.createQuery(SubmissionExportRow.class);
+        Root<Submission> root = query.from(Submission.class);
+
+        query.select(cb.construct(SubmissionExportRow.class,
+            root.get("id"),
+            root.get("form").get("id"),
+            root.get("submitterName"),
+            root.get("submitterEmail"),
+            root.get("status"),
+            root.get("submittedAt"),
+            includeFormData ? root.get("formData") : cb.nullLiteral(String.class)
+        ));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get("submittedAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    @Override
+    public Page<SubmissionListRow> findListRows(Specification<Submission> spec, Pageable pageable,
+                                                boolean includeFormData) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SubmissionListRow> query = cb.createQuery(SubmissionListRow.class);
+        Root<Submission> root = query.from(Submission.class);
+
+        query.select(listRow(cb, root, includeFormData));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(pageable.getSort().isSorted()
+            ? QueryUtils.toOrders(pageable.getSort(), root, cb)
+            : List.of(cb.desc(root.get("submittedAt")), cb.desc(root.get("id"))));
+
+        TypedQuery<SubmissionListRow> typed = entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        // Skips the count when the page itself shows where the results end
+        return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<SubmissionListRow> findListRowsAfter(Specification<Submission> spec, Instant submittedAt, UUID id,
+                                                     int limit, boolean includeFormData) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SubmissionListRow> query = cb.createQuery(SubmissionListRow.class);
+        Root<Submission> root = query.from(Submission.class);
+
+        query.select(listRow(cb, root, includeFormData));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (submittedAt != null) {
+            // Row-value comparison (submitted_at, id) < (:submittedAt, :id), spelled out for JPQL
+            Predicate after = cb.or(
+                cb.lessThan(root.get("submittedAt"), submittedAt),
+                cb.and(cb.equal(root.get("submittedAt"), submittedAt), cb.lessThan(root.get("id"), id)));
+            predicate = predicate != null ? cb.and(predicate, after) : after;
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get("submittedAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    private long count(Specification<Submission> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Submission> root = query.from(Submission.class);
+
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static CompoundSelection<SubmissionListRow> listRow(CriteriaBuilder cb, Root<Submission> root,
+                                                                boolean includeFormData) {
+        return cb.construct(SubmissionListRow.class,
+            root.get("id"),
+            root.get("form").get("id"),
+            root.get("submitterName"),
+            root.get("submitterEmail"),
+            root.get("status"),
+            root.get("submittedAt"),
+            root.get("signatureS3Key"),
+            root.get("pdfS3Key"),
+            includeFormData ? root.get("formData") : cb.nullLiteral(String.class)
+        );
+    }
+}
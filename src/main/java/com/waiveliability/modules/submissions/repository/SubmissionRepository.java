@@ -3,16 +3,48 @@ package com.waiveliability.modules.submissions.repository;
 import com.waiveliability.modules.submissions.domain.Submission;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface SubmissionRepository extends JpaRepository<Submission, UUID>, JpaSpecificationExecutor<Submission> {
+public interface SubmissionRepository extends JpaRepository<Submission, UUID>, JpaSpecificationExecutor<Submission>,
+        SubmissionQueryRepository {
 
     Page<Submission> findByTenantId(UUID tenantId, Pageable pageable);
 
     Page<Submission> findByFormIdAndTenantId(UUID formId, UUID tenantId, Pageable pageable);
 
     long countByTenantId(UUID tenantId);
+
+    long countByFormId(UUID formId);
+
+    boolean existsBySignatureS3Key(String signatureS3Key);
+
+    boolean existsByIdAndPdfS3KeyIsNotNull(UUID id);
+
+    @EntityGraph(attributePaths = {"form", "tenant"})
+    Optional<Submission> findWithFormAndTenantById(UUID id);
+
+    @EntityGraph(attributePaths = "form")
+    List<Submission> findWithFormByIdIn(Collection<UUID> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Submission s SET s.pdfS3Key = :key, s.updatedAt = :now WHERE s.id = :id")
+    void updatePdfS3Key(@Param("id") UUID id, @Param("key") String key, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Submission s SET s.signatureS3Key = :key, s.updatedAt = :now WHERE s.id = :id")
+    void updateSignatureS3Key(@Param("id") UUID id, @Param("key") String key, @Param("now") Instant now);
 }
@@ -10,6 +10,29 @@ public final class SubmissionSpecifications {
 
     private SubmissionSpecifications() {}
 
+    /**
+     * Combines the admin list/export filters; blank or null filters are ignored.
+     */
+    public static Specification<Submission> matching(UUID tenantId, UUID formId, String status,
+                                                     String submitterName, Instant startDate, Instant endDate) {
+        Specification<Submission> spec = Specification.where(hasTenantId(tenantId));
+
+        if (formId != null) {
+            spec = spec.and(hasFormId(formId));
+        }
+        if (status != null && !status.isBlank()) {
+            spec = spec.and(hasStatus(status));
+        }
+        if (submitterName != null && !submitterName.isBlank()) {
+            spec = spec.and(submitterNameContains(submitterName));
+        }
+        if (startDate != null || endDate != null) {
+            spec = spec.and(submittedBetween(startDate, endDate));
+        }
+
+        return spec;
+    }
+
     public static Specification<Submission> hasTenantId(UUID tenantId) {
         return (root, query, cb) -> {
             if (tenantId == null) return null;
@@ -0,0 +1,252 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.common.storage.S3MultipartOutputStream;
+import com.waiveliability.common.storage.S3Service;
+import com.waiveliability.modules.submissions.domain.ExportJob;
+import com.waiveliability.modules.submissions.dto.ExportJobRequest;
+import com.waiveliability.modules.submissions.dto.ExportJobResponse;
+import com.waiveliability.modules.submissions.repository.ExportJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs submission exports in the background. Each job streams its rows through gzip into an
+ * S3 multipart upload, reporting progress as it goes, and is downloaded from a pre-signed URL
+ * once complete. Requests for the same tenant and filters share one job.
+ */
+@Service
+@Slf4j
+public class ExportJobService {
+
+    private static final List<ExportJob.Status> ACTIVE = List.of(ExportJob.Status.queued, ExportJob.Status.running);
+    // Repeat clicks shortly after a job finished get the finished job instead of a new one
+    private static final Duration REUSE_WINDOW = Duration.ofMinutes(5);
+    // Progress is written every few thousand rows; a running job silent for this long is dead
+    private static final Duration STALE_AFTER = Duration.ofMinutes(10);
+    // Queued jobs report nothing while they wait, so only one queued far longer than any
+    // backlog could explain is taken to be lost with its instance's in-memory queue
+    private static final Duration QUEUED_STALE_AFTER = Duration.ofHours(6);
+    private static final Duration DOWNLOAD_URL_EXPIRY = Duration.ofMinutes(15);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportJobRepository exportJobRepository;
+    private final SubmissionExportService submissionExportService;
+    private final S3Service s3Service;
+    private final TaskExecutor exportExecutor;
+
+    public ExportJobService(ExportJobRepository exportJobRepository,
+                            SubmissionExportService submissionExportService,
+                            S3Service s3Service,
+                            @Qualifier("exportExecutor") TaskExecutor exportExecutor) {
+        this.exportJobRepository = exportJobRepository;
+        this.submissionExportService = submissionExportService;
+        this.s3Service = s3Service;
+        this.exportExecutor = exportExecutor;
+    }
+
+    /**
+     * Fails jobs abandoned by an instance that stopped, so pollers see them end and identical
+     * requests can start over. Each instance sweeps; the update is idempotent.
+     */
+    @Scheduled(fixedDelayString = "${app.export-jobs.stale-sweep-interval:60000}")
+    public void failStaleJobs() {
+        Instant now = Instant.now();
+        int failed = exportJobRepository.failStale(ExportJob.Status.running, ExportJob.Status.failed,
+            now.minus(STALE_AFTER), now);
+        failed += exportJobRepository.failStale(ExportJob.Status.queued, ExportJob.Status.failed,
+            now.minus(QUEUED_STALE_AFTER), now);
+        if (failed > 0) {
+            log.warn("Failed {} export jobs that stopped reporting progress", failed);
+        }
+    }
+
+    /**
+     * Returns the job exporting the given filters, queueing a new one unless an identical job
+     * is already in flight or finished within the last few minutes.
+     */
+    public ExportJobResponse submit(UUID tenantId, ExportJobRequest request) {
+        submissionExportService.requireExportPlan(tenantId);
+        ExportJob.Format format = parseFormat(request.format());
+        String filterHash = filterHash(format, request);
+
+        Instant now = Instant.now();
+        Optional<ExportJob> existing = findReusable(tenantId, filterHash, now);
+        if (existing.isPresent()) {
+            return toResponse(existing.get());
+        }
+
+        ExportJob job;
+        try {
+            job = exportJobRepository.saveAndFlush(ExportJob.builder()
+                .tenantId(tenantId)
+                .format(format)
+                .status(ExportJob.Status.queued)
+                .filterHash(filterHash)
+                .formId(request.formId())
+                .submissionStatus(request.status())
+                .submitterName(request.submitterName())
+                .startDate(request.startDate())
+                .endDate(request.endDate())
+                .build());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request queued the same export between our lookup and insert
+            return findReusable(tenantId, filterHash, now)
+                .map(this::toResponse)
+                .orElseThrow(() -> e);
+        }
+
+        UUID jobId = job.getId();
+        try {
+            exportExecutor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            exportJobRepository.fail(jobId, ExportJob.Status.queued, ExportJob.Status.failed, "Export queue is full",
+                Instant.now());
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports in progress, try again shortly");
+        }
+
+        log.info("Queued {} export job {} for tenant {}", format, jobId, tenantId);
+        return toResponse(job);
+    }
+
+    public ExportJobResponse getJob(UUID tenantId, UUID jobId) {
+        return exportJobRepository.findByIdAndTenantId(jobId, tenantId)
+            .map(this::toResponse)
+            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Export job not found"));
+    }
+
+    // --- helpers ---
+
+    private void run(UUID jobId) {
+        if (exportJobRepository.transition(jobId, ExportJob.Status.queued, ExportJob.Status.running, Instant.now()) == 0) {
+            return;
+        }
+        ExportJob job = exportJobRepository.findById(jobId).orElse(null);
+        if (job == null) return;
+
+        String key = "exports/" + job.getTenantId() + "/" + jobId + "." + job.getFormat() + ".gz";
+        S3MultipartOutputStream upload = s3Service.openMultipartUpload(key, "application/gzip");
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(upload, GZIP_BUFFER_SIZE), StandardCharsets.UTF_8));
+            LongConsumer progress = rows ->
+                exportJobRepository.updateProgress(jobId, rows, upload.getBytesWritten(), Instant.now());
+
+            long rows = switch (job.getFormat()) {
+                case csv -> submissionExportService.exportCsv(job.getTenantId(), job.getFormId(),
+                    job.getSubmissionStatus(), job.getSubmitterName(), job.getStartDate(), job.getEndDate(),
+                    writer, progress);
+                case ndjson -> submissionExportService.exportNdjson(job.getTenantId(), job.getFormId(),
+                    job.getSubmissionStatus(), job.getSubmitterName(), job.getStartDate(), job.getEndDate(),
+                    writer, progress);
+            };
+            // Closing finishes the gzip trailer and completes the multipart upload
+            writer.close();
+
+            if (exportJobRepository.complete(jobId, ExportJob.Status.running, ExportJob.Status.completed, rows,
+                    upload.getBytesWritten(), key, Instant.now()) == 0) {
+                // Failed as stale while finishing; a newer job for the same filters may be running
+                log.warn("Export job {} finished after it was marked interrupted, discarding its file", jobId);
+                s3Service.deleteInBackground(key);
+                return;
+            }
+            log.info("Export job {} completed: {} rows, {} bytes", jobId, rows, upload.getBytesWritten());
+        } catch (Exception e) {
+            upload.abort();
+            closeQuietly(writer);
+            String error = e instanceof ApiException ? e.getMessage() : "Export failed";
+            if (exportJobRepository.fail(jobId, ExportJob.Status.running, ExportJob.Status.failed, error,
+                    Instant.now()) == 0) {
+                log.warn("Export job {} failed after it was marked interrupted", jobId, e);
+                return;
+            }
+            log.error("Export job {} failed", jobId, e);
+        }
+    }
+
+    private Optional<ExportJob> findReusable(UUID tenantId, String filterHash, Instant now) {
+        Optional<ExportJob> active = exportJobRepository
+            .findFirstByTenantIdAndFilterHashAndStatusInOrderByCreatedAtDesc(tenantId, filterHash, ACTIVE);
+        if (active.isPresent()) return active;
+        return exportJobRepository.findFirstByTenantIdAndFilterHashAndStatusAndCompletedAtAfterOrderByCreatedAtDesc(
+            tenantId, filterHash, ExportJob.Status.completed, now.minus(REUSE_WINDOW));
+    }
+
+    private ExportJob.Format parseFormat(String format) {
+        if (format == null || format.isBlank()) return ExportJob.Format.csv;
+        try {
+            return ExportJob.Format.valueOf(format.toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+    }
+
+    private static String filterHash(ExportJob.Format format, ExportJobRequest request) {
+        String canonical = String.join("|",
+            format.name(),
+            String.valueOf(request.formId()),
+            String.valueOf(request.status()),
+            String.valueOf(request.submitterName()),
+            String.valueOf(request.startDate()),
+            String.valueOf(request.endDate()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        String downloadUrl = null;
+        if (job.getStatus() == ExportJob.Status.completed && job.getS3Key() != null) {
+            downloadUrl = s3Service.generateSignedUrl(job.getS3Key(), DOWNLOAD_URL_EXPIRY,
+                "submissions." + job.getFormat() + ".gz");
+        }
+        return new ExportJobResponse(
+            job.getId(),
+            job.getStatus().name(),
+            job.getFormat().name(),
+            job.getRowsWritten(),
+            job.getBytesWritten(),
+            downloadUrl,
+            job.getError(),
+            job.getCreatedAt(),
+            job.getCompletedAt()
+        );
+    }
+
+    private static void closeQuietly(Writer writer) {
+        if (writer == null) return;
+        try {
+            // Releases the deflater's native memory
+            writer.close();
+        } catch (IOException ignored) {
+            // expected: the aborted upload rejects the trailing gzip bytes
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.common.outbox.OutboxService;
+import com.waiveliability.common.storage.PresignedUpload;
+import com.waiveliability.common.storage.S3Service;
+import com.waiveliability.common.storage.StoredObject;
+import com.waiveliability.common.storage.UploadIntentRequest;
+import com.waiveliability.modules.document.service.PdfGenerationHandler;
+import com.waiveliability.modules.forms.service.PublicFormCache;
+import com.waiveliability.modules.submissions.domain.PendingSignature;
+import com.waiveliability.modules.submissions.repository.PendingSignatureRepository;
+import com.waiveliability.modules.submissions.repository.SubmissionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Takes signature images off the submit path. Clients can upload the image straight to S3
+ * through a pre-signed URL and submit only its key, which is checked in S3 and may be used by
+ * one submission only.
+ * An inline base64 signature is decoded and checked up front, then kept in
+ * {@code pending_signatures} and uploaded to S3 by the outbox once the submission commits.
+ * The PDF, which embeds the signature, is queued after the upload, or from the staged copy
+ * while a failing upload keeps retrying. The staged copy is only deleted once it is in S3.
+ */
+@Service
+@RequiredArgsConstructor
+public class SignatureService {
+
+    static final int MAX_SIGNATURE_BYTES = 512 * 1024;
+    private static final String PNG = "image/png";
+    private static final Duration UPLOAD_URL_EXPIRY = Duration.ofMinutes(10);
+    // How long to leave S3 alone after a staged upload has used up its attempts
+    private static final Duration UPLOAD_RETRY_DELAY = Duration.ofHours(1);
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final PendingSignatureRepository pendingSignatureRepository;
+    private final SubmissionRepository submissionRepository;
+    private final OutboxService outboxService;
+    private final PublicFormCache publicFormCache;
+    private final S3Service s3Service;
+
+    /**
+     * Signs a PUT for a signature image to a published form, to be sent as the submission's
+     * {@code signatureKey}. Throws 400 unless the image is a PNG and 413 over the size limit.
+     */
+    public PresignedUpload createUploadIntent(String tenantSlug, UUID formId, UploadIntentRequest req) {
+        PublicFormCache.PublicForm form = publicFormCache.get(tenantSlug, formId);
+        if (!PNG.equals(req.contentType())) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Signature must be a PNG image");
+        }
+        if (req.contentLength() > MAX_SIGNATURE_BYTES) {
+            throw new ApiException(HttpStatus.PAYLOAD_TOO_LARGE, "Signature image is too large");
+        }
+        String key = uploadPrefix(form.tenantId(), formId) + UUID.randomUUID() + ".png";
+        return s3Service.generateSignedUpload(key, PNG, req.contentLength(), UPLOAD_URL_EXPIRY);
+    }
+
+    /**
+     * Checks that {@code key} is a signature uploaded for this form and returns it. Throws 400
+     * if it points elsewhere, was never uploaded, is already attached to a submission, or is
+     * not a PNG within the size limit. The content type is set by the client, so the first
+     * bytes are read back to check for the PNG signature.
+     */
+    public String confirmUpload(UUID tenantId, UUID formId, String key) {
+        if (!key.startsWith(uploadPrefix(tenantId, formId)) || key.contains("..")) {
+            throw invalidSignature();
+        }
+        StoredObject object = s3Service.head(key)
+            .orElseThrow(() -> new ApiException(HttpStatus.BAD_REQUEST, "Signature upload not found"));
+        if (!PNG.equals(object.contentType()) || object.contentLength() > MAX_SIGNATURE_BYTES) {
+            throw invalidSignature();
+        }
+        if (submissionRepository.existsBySignatureS3Key(key)) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Signature upload has already been used");
+        }
+        if (!Arrays.equals(s3Service.readPrefix(key, PNG_MAGIC.length), PNG_MAGIC)) {
+            throw invalidSignature();
+        }
+        return key;
+    }
+
+    /**
+     * Stages a decoded signature for upload in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void stage(UUID tenantId, UUID formId, UUID submissionId, byte[] png) {
+        pendingSignatureRepository.save(PendingSignature.builder()
+            .submissionId(submissionId)
+            .s3Key(String.format("signatures/%s/%s/%s.png", tenantId, formId, submissionId))
+            .data(png)
+            .build());
+        outboxService.enqueue(SignatureUploadHandler.KIND, submissionId);
+    }
+
+    /**
+     * Records the uploaded signature on its submission, drops the staged copy and queues the PDF.
+     */
+    @Transactional
+    public void uploaded(PendingSignature signature) {
+        submissionRepository.updateSignatureS3Key(signature.getSubmissionId(), signature.getS3Key(), Instant.now());
+        pendingSignatureRepository.deleteById(signature.getSubmissionId());
+        outboxService.enqueue(PdfGenerationHandler.KIND, signature.getSubmissionId());
+    }
+
+    /**
+     * Handles a signature upload that used up its attempts. The staged copy stays until the
+     * image reaches S3, so the upload is queued again after a long pause. The first time, the
+     * PDF is queued too, embedding the staged copy, so the submission is not held up by S3.
+     */
+    @Transactional
+    public void abandoned(UUID submissionId) {
+        if (!pendingSignatureRepository.existsById(submissionId)) return;
+        outboxService.enqueue(SignatureUploadHandler.KIND, submissionId, Instant.now().plus(UPLOAD_RETRY_DELAY));
+        if (!submissionRepository.existsByIdAndPdfS3KeyIsNotNull(submissionId)) {
+            outboxService.enqueue(PdfGenerationHandler.KIND, submissionId);
+        }
+    }
+
+    /**
+     * Decodes a base64 PNG, with or without a {@code data:} prefix, straight from the string
+     * into a buffer of the exact decoded size, checking the PNG signature before reading on.
+     * Throws 400 for anything that is not a PNG and 413 for images over the size limit.
+     */
+    static byte[] decodePng(String dataUri) {
+        int start = dataUri.indexOf(',') + 1;
+        int end = dataUri.length();
+        int padding = 0;
+        while (end - padding > start && padding < 2 && dataUri.charAt(end - padding - 1) == '=') {
+            padding++;
+        }
+        long decodedLength = (long) (end - start) * 3 / 4 - padding;
+        if (decodedLength > MAX_SIGNATURE_BYTES) {
+            throw new ApiException(HttpStatus.PAYLOAD_TOO_LARGE, "Signature image is too large");
+        }
+        if (decodedLength < PNG_MAGIC.length) {
+            throw invalidSignature();
+        }
+
+        byte[] png = new byte[(int) decodedLength];
+        try (InputStream in = Base64.getDecoder().wrap(new AsciiInputStream(dataUri, start))) {
+            if (in.readNBytes(png, 0, PNG_MAGIC.length) != PNG_MAGIC.length
+                || !Arrays.equals(png, 0, PNG_MAGIC.length, PNG_MAGIC, 0, PNG_MAGIC.length)) {
+                throw invalidSignature();
+            }
+            int read = in.readNBytes(png, PNG_MAGIC.length, png.length - PNG_MAGIC.length);
+            if (read != png.length - PNG_MAGIC.length || in.read() != -1) {
+                throw invalidSignature();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw invalidSignature();
+        }
+        return png;
+    }
+
+    private static String uploadPrefix(UUID tenantId, UUID formId) {
+        return "signatures/" + tenantId + "/" + formId + "/uploads/";
+    }
+
+    private static ApiException invalidSignature() {
+        return new ApiException(HttpStatus.BAD_REQUEST, "Invalid signature data");
+    }
+
+    /**
+     * Reads the base64 characters of a string as bytes without copying it. Anything outside
+     * ASCII comes through as an illegal base64 byte, which the decoder rejects.
+     */
+    private static final class AsciiInputStream extends InputStream {
+
+        private final String text;
+        private int pos;
+
+        AsciiInputStream(String text, int from) {
+            this.text = text;
+            this.pos = from;
+        }
+
+        @Override
+        public int read() {
+            if (pos >= text.length()) return -1;
+            char c = text.charAt(pos++);
+            return c < 0x80 ? c : 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (pos >= text.length()) return -1;
+            int n = Math.min(len, text.length() - pos);
+            for (int i = 0; i < n; i++) {
+                char c = text.charAt(pos++);
+                b[off + i] = (byte) (c < 0x80 ? c : 0xFF);
+            }
+            return n;
+        }
+    }
+}
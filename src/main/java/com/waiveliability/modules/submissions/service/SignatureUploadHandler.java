@@ -0,0 +1,68 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.waiveliability.common.outbox.OutboxHandler;
+import com.waiveliability.common.storage.S3Service;
+import com.waiveliability.modules.submissions.domain.PendingSignature;
+import com.waiveliability.modules.submissions.repository.PendingSignatureRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+
+/**
+ * Uploads a signature staged by {@link SignatureService#stage} to S3. The key is fixed per
+ * submission, so a rerun overwrites the same object. If every attempt fails, the upload is
+ * queued again later and the PDF is generated from the staged copy meanwhile.
+ */
+@Component
+@Slf4j
+public class SignatureUploadHandler implements OutboxHandler {
+
+    public static final String KIND = "submission.signature-upload";
+
+    private final PendingSignatureRepository pendingSignatureRepository;
+    private final SignatureService signatureService;
+    private final S3Service s3Service;
+    private final ThreadPoolTaskExecutor executor;
+
+    public SignatureUploadHandler(PendingSignatureRepository pendingSignatureRepository,
+                                  SignatureService signatureService,
+                                  S3Service s3Service,
+                                  @Qualifier("storageExecutor") ThreadPoolTaskExecutor executor) {
+        this.pendingSignatureRepository = pendingSignatureRepository;
+        this.signatureService = signatureService;
+        this.s3Service = s3Service;
+        this.executor = executor;
+    }
+
+    @Override
+    public String kind() {
+        return KIND;
+    }
+
+    @Override
+    public ThreadPoolTaskExecutor executor() {
+        return executor;
+    }
+
+    @Override
+    public void handle(UUID submissionId) {
+        PendingSignature signature = pendingSignatureRepository.findById(submissionId).orElse(null);
+        if (signature == null) {
+            // Already uploaded by an earlier attempt, or the submission was deleted
+            log.debug("No pending signature for submission {}, skipping upload", submissionId);
+            return;
+        }
+        byte[] data = signature.getData();
+        s3Service.upload(signature.getS3Key(), new ByteArrayInputStream(data), data.length, "image/png");
+        signatureService.uploaded(signature);
+    }
+
+    @Override
+    public void onGiveUp(UUID submissionId) {
+        signatureService.abandoned(submissionId);
+    }
+}
@@ -0,0 +1,60 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.waiveliability.common.outbox.OutboxHandler;
+import com.waiveliability.modules.billing.domain.Subscription;
+import com.waiveliability.modules.identity.service.TenantSnapshot;
+import com.waiveliability.modules.notification.service.EmailService;
+import com.waiveliability.modules.submissions.domain.Submission;
+import com.waiveliability.modules.submissions.repository.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Notifies the tenant of a new submission, if their plan and settings call for it.
+ */
+@Component
+@Slf4j
+public class SubmissionAlertHandler implements OutboxHandler {
+
+    public static final String KIND = "submission.alert-email";
+
+    private final SubmissionRepository submissionRepository;
+    private final EmailService emailService;
+    private final ThreadPoolTaskExecutor executor;
+
+    public SubmissionAlertHandler(SubmissionRepository submissionRepository,
+                                  EmailService emailService,
+                                  @Qualifier("mailExecutor") ThreadPoolTaskExecutor executor) {
+        this.submissionRepository = submissionRepository;
+        this.emailService = emailService;
+        this.executor = executor;
+    }
+
+    @Override
+    public String kind() {
+        return KIND;
+    }
+
+    @Override
+    public ThreadPoolTaskExecutor executor() {
+        return executor;
+    }
+
+    @Override
+    public void handle(UUID submissionId) {
+        Submission submission = submissionRepository.findWithFormAndTenantById(submissionId).orElse(null);
+        if (submission == null) {
+            log.debug("Submission {} was deleted, skipping new submission alert", submissionId);
+            return;
+        }
+        TenantSnapshot tenant = TenantSnapshot.of(submission.getTenant());
+        var plan = tenant.plan() != null
+            ? Subscription.PlanType.valueOf(tenant.plan().toLowerCase())
+            : Subscription.PlanType.free;
+        emailService.sendNewSubmissionAlert(submission, tenant, plan);
+    }
+}
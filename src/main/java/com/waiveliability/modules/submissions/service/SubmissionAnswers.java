@@ -0,0 +1,45 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waiveliability.common.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+/**
+ * Converts a submission's answers to and from the JSON stored in {@code form_data}.
+ */
+final class SubmissionAnswers {
+
+    private static final TypeReference<Map<String, Object>> ANSWERS = new TypeReference<>() {};
+
+    private SubmissionAnswers() {
+    }
+
+    /**
+     * Serializes answers for storage; null becomes an empty object. Throws 400 for answers
+     * that cannot be written as JSON.
+     */
+    static String serialize(ObjectMapper objectMapper, Map<String, Object> answers) {
+        if (answers == null) return "{}";
+        try {
+            return objectMapper.writeValueAsString(answers);
+        } catch (JsonProcessingException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid answers format");
+        }
+    }
+
+    /**
+     * Reads stored answers back. Missing or unreadable JSON yields an empty map.
+     */
+    static Map<String, Object> deserialize(ObjectMapper objectMapper, String json) {
+        if (json == null || json.isBlank()) return Map.of();
+        try {
+            return objectMapper.readValue(json, ANSWERS);
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.common.exception.PlanLimitExceededException;
+import com.waiveliability.modules.billing.domain.Subscription.PlanType;
+import com.waiveliability.modules.billing.service.EntitlementService;
+import com.waiveliability.modules.forms.domain.FormField;
+import com.waiveliability.modules.forms.repository.FormFieldRepository;
+import com.waiveliability.modules.forms.repository.FormRepository;
+import com.waiveliability.modules.submissions.domain.Submission;
+import com.waiveliability.modules.submissions.repository.SubmissionExportRow;
+import com.waiveliability.modules.submissions.repository.SubmissionRepository;
+import com.waiveliability.modules.submissions.repository.SubmissionSpecifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams submission exports row by row from a database cursor, so memory use does not
+ * grow with the number of submissions a tenant has.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SubmissionExportService {
+
+    private static final String CSV_HEADER = "id,form_id,submitter_name,submitter_email,status,submitted_at";
+    private static final String ANSWERS_CSV_HEADER = "id,submitter_name,submitter_email,status,submitted_at";
+    private static final int PROGRESS_INTERVAL = 5000;
+
+    private final SubmissionRepository submissionRepository;
+    private final EntitlementService entitlementService;
+    private final FormRepository formRepository;
+    private final FormFieldRepository formFieldRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every submission matching the filters as CSV and returns the number of rows written.
+     */
+    public long exportCsv(UUID tenantId, UUID formId, String status, String submitterName,
+                          Instant startDate, Instant endDate, Writer writer) throws IOException {
+        return exportCsv(tenantId, formId, status, submitterName, startDate, endDate, writer, rows -> {});
+    }
+
+    /**
+     * Same as {@link #exportCsv(UUID, UUID, String, String, Instant, Instant, Writer)}, reporting the
+     * running row count to {@code progress} every {@value #PROGRESS_INTERVAL} rows.
+     */
+    public long exportCsv(UUID tenantId, UUID formId, String status, String submitterName,
+                          Instant startDate, Instant endDate, Writer writer, LongConsumer progress) throws IOException {
+        requireExportPlan(tenantId);
+
+        Specification<Submission> spec = SubmissionSpecifications.matching(
+            tenantId, formId, status, submitterName, startDate, endDate);
+
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long rows = 0;
+        try (Stream<SubmissionExportRow> stream = submissionRepository.streamExportRows(spec, false)) {
+            Iterator<SubmissionExportRow> it = stream.iterator();
+            while (it.hasNext()) {
+                writeRow(writer, it.next());
+                if (++rows % PROGRESS_INTERVAL == 0) {
+                    progress.accept(rows);
+                }
+            }
+        }
+
+        writer.flush();
+        log.debug("Exported {} submissions for tenant {}", rows, tenantId);
+        return rows;
+    }
+
+    /**
+     * Writes every submission matching the filters as newline-delimited JSON, one object per
+     * submission with its raw answers, reporting progress like the CSV export.
+     */
+    public long exportNdjson(UUID tenantId, UUID formId, String status, String submitterName,
+                             Instant startDate, Instant endDate, Writer writer, LongConsumer progress) throws IOException {
+        requireExportPlan(tenantId);
+
+        Specification<Submission> spec = SubmissionSpecifications.matching(
+            tenantId, formId, status, submitterName, startDate, endDate);
+
+        long rows = 0;
+        try (Stream<SubmissionExportRow> stream = submissionRepository.streamExportRows(spec, true);
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(writer)) {
+            gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            gen.setRootValueSeparator(null);
+            Iterator<SubmissionExportRow> it = stream.iterator();
+            while (it.hasNext()) {
+                writeJsonRow(gen, it.next());
+                if (++rows % PROGRESS_INTERVAL == 0) {
+                    progress.accept(rows);
+                }
+            }
+            gen.flush();
+        }
+
+        writer.flush();
+        log.debug("Exported {} submissions as NDJSON for tenant {}", rows, tenantId);
+        return rows;
+    }
+
+    /**
+     * Writes the submissions of a single form as CSV with one column per answerable field,
+     * in field order. Each row's form_data is read token by token straight into the column
+     * slots, so no per-row map is built.
+     */
+    public long exportAnswersCsv(UUID tenantId, UUID formId, String status, String submitterName,
+                                 Instant startDate, Instant endDate, Writer writer) throws IOException {
+        requireExportPlan(tenantId);
+        formRepository.findByIdAndTenantId(formId, tenantId)
+            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Form not found"));
+
+        // Content fields are static text and never carry an answer
+        List<FormField> fields = formFieldRepository.findByFormIdOrderByFieldOrder(formId).stream()
+            .filter(f -> !"content".equals(f.getFieldType()))
+            .toList();
+        Map<String, Integer> columnByFieldId = new HashMap<>();
+        writer.write(ANSWERS_CSV_HEADER);
+        for (int i = 0; i < fields.size(); i++) {
+            columnByFieldId.put(fields.get(i).getId().toString(), i);
+            writer.write(',');
+            writer.write(escapeCsv(fields.get(i).getLabel()));
+        }
+        writer.write('\n');
+
+        Specification<Submission> spec = SubmissionSpecifications.matching(
+            tenantId, formId, status, submitterName, startDate, endDate);
+        JsonFactory jsonFactory = objectMapper.getFactory();
+        String[] answers = new String[fields.size()];
+
+        long rows = 0;
+        try (Stream<SubmissionExportRow> stream = submissionRepository.streamExportRows(spec, true)) {
+            Iterator<SubmissionExportRow> it = stream.iterator();
+            while (it.hasNext()) {
+                SubmissionExportRow row = it.next();
+                readAnswers(jsonFactory, row, columnByFieldId, answers);
+                writeAnswersRow(writer, row, answers);
+                rows++;
+            }
+        }
+
+        writer.flush();
+        log.debug("Exported {} submissions with answers for form {}", rows, formId);
+        return rows;
+    }
+
+    /**
+     * Throws unless the tenant's plan includes submission exports.
+     */
+    public void requireExportPlan(UUID tenantId) {
+        // Plan gate: only premium tenants can export
+        if (entitlementService.get(tenantId).plan() != PlanType.premium) {
+            throw new PlanLimitExceededException("csv_export");
+        }
+    }
+
+    // --- helpers ---
+
+    private void writeRow(Writer writer, SubmissionExportRow row) throws IOException {
+        writer.write(escapeCsv(row.id().toString()));
+        writer.write(',');
+        writer.write(escapeCsv(row.formId().toString()));
+        writer.write(',');
+        writer.write(escapeCsv(row.submitterName()));
+        writer.write(',');
+        writer.write(escapeCsv(row.submitterEmail()));
+        writer.write(',');
+        writer.write(escapeCsv(row.status()));
+        writer.write(',');
+        writer.write(escapeCsv(row.submittedAt() != null ? row.submittedAt().toString() : ""));
+        writer.write('\n');
+    }
+
+    private void writeJsonRow(JsonGenerator gen, SubmissionExportRow row) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", row.id().toString());
+        gen.writeStringField("formId", row.formId().toString());
+        gen.writeStringField("submitterName", row.submitterName());
+        gen.writeStringField("submitterEmail", row.submitterEmail());
+        gen.writeStringField("status", row.status());
+        gen.writeStringField("submittedAt", row.submittedAt() != null ? row.submittedAt().toString() : null);
+        gen.writeFieldName("answers");
+        // form_data comes back from jsonb as valid JSON, so it is copied through unparsed
+        if (row.formData() != null && !row.formData().isBlank()) {
+            gen.writeRawValue(row.formData());
+        } else {
+            gen.writeStartObject();
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+
+    private void writeAnswersRow(Writer writer, SubmissionExportRow row, String[] answers) throws IOException {
+        writer.write(escapeCsv(row.id().toString()));
+        writer.write(',');
+        writer.write(escapeCsv(row.submitterName()));
+        writer.write(',');
+        writer.write(escapeCsv(row.submitterEmail()));
+        writer.write(',');
+        writer.write(escapeCsv(row.status()));
+        writer.write(',');
+        writer.write(escapeCsv(row.submittedAt() != null ? row.submittedAt().toString() : ""));
+        for (String answer : answers) {
+            writer.write(',');
+            writer.write(escapeCsv(answer));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Fills {@code answers} from the row's form_data, leaving unanswered columns null.
+     * Keys that aren't columns of this form are skipped without being materialized.
+     */
+    private void readAnswers(JsonFactory jsonFactory, SubmissionExportRow row,
+                             Map<String, Integer> columnByFieldId, String[] answers) throws IOException {
+        Arrays.fill(answers, null);
+        String json = row.formData();
+        if (json == null || json.isBlank()) return;
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Integer column = columnByFieldId.get(parser.currentName());
+                JsonToken token = parser.nextToken();
+                if (column == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                answers[column] = readAnswerValue(parser, token);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed form_data for submission {}: {}", row.id(), e.getOriginalMessage());
+            Arrays.fill(answers, null);
+        }
+    }
+
+    private String readAnswerValue(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case START_OBJECT -> {
+                parser.skipChildren();
+                yield null;
+            }
+            case START_ARRAY -> {
+                // Multi-value answers (e.g. several checked options) are joined into one cell
+                StringBuilder joined = new StringBuilder();
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (element == JsonToken.START_OBJECT || element == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    if (element == JsonToken.VALUE_NULL) continue;
+                    if (!joined.isEmpty()) joined.append("; ");
+                    joined.append(parser.getText());
+                }
+                yield joined.toString();
+            }
+            default -> parser.getText();
+        };
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,157 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.modules.forms.dto.FormFieldOption;
+import com.waiveliability.modules.forms.dto.FormFieldResponse;
+import com.waiveliability.modules.forms.dto.FormResponse;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * How to validate and read submissions to one version of a form, worked out once from its
+ * fields: the answer keys to check, a validator per field type, and which answers hold the
+ * submitter's name and email. Checking a submission is then a loop of map lookups.
+ */
+final class SubmissionPlan {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final List<Check> checks;
+    private final String nameKey;
+    private final String emailKey;
+
+    private SubmissionPlan(List<Check> checks, String nameKey, String emailKey) {
+        this.checks = checks;
+        this.nameKey = nameKey;
+        this.emailKey = emailKey;
+    }
+
+    static SubmissionPlan compile(FormResponse form) {
+        return compile(form.fields());
+    }
+
+    static SubmissionPlan compile(List<FormFieldResponse> fields) {
+        List<Check> checks = new ArrayList<>();
+        String nameKey = null;
+        String emailKey = null;
+        for (FormFieldResponse field : fields) {
+            String key = field.id().toString();
+            String type = field.fieldType();
+            if (nameKey == null && "text".equals(type) && field.label().toLowerCase().contains("name")) {
+                nameKey = key;
+            }
+            if (emailKey == null && "email".equals(type)) {
+                emailKey = key;
+            }
+            Validator validator = validatorFor(field);
+            if (field.required() || validator != Validator.ANY) {
+                checks.add(new Check(key, field.label(), field.required(), validator, optionSet(field.options())));
+            }
+        }
+        return new SubmissionPlan(List.copyOf(checks), nameKey, emailKey);
+    }
+
+    /**
+     * Throws 422 for the first missing required answer or answer of the wrong shape. Optional
+     * fields left blank are not checked further.
+     */
+    void validate(Map<String, Object> answers) {
+        for (Check check : checks) {
+            Object answer = answers != null ? answers.get(check.key()) : null;
+            if (isBlank(answer)) {
+                if (check.required()) throw invalid(check, "is required");
+                continue;
+            }
+            switch (check.validator()) {
+                case EMAIL -> {
+                    if (!(answer instanceof String s) || !EMAIL.matcher(s).matches()) {
+                        throw invalid(check, "must be a valid email address");
+                    }
+                }
+                case CONSENT -> {
+                    boolean checked = Boolean.TRUE.equals(answer) || "true".equals(answer);
+                    if (!checked && !(Boolean.FALSE.equals(answer) || "false".equals(answer))) {
+                        throw invalid(check, "must be true or false");
+                    }
+                    if (check.required() && !checked) throw invalid(check, "is required");
+                }
+                case OPTION -> {
+                    if (!isOption(answer, check.options())) throw invalid(check, "has an invalid option");
+                }
+                case ANY -> {
+                }
+            }
+        }
+    }
+
+    String submitterName(Map<String, Object> answers) {
+        return answerText(answers, nameKey);
+    }
+
+    String submitterEmail(Map<String, Object> answers) {
+        return answerText(answers, emailKey);
+    }
+
+    // --- helpers ---
+
+    private static Validator validatorFor(FormFieldResponse field) {
+        boolean hasOptions = field.options() != null && !field.options().isEmpty();
+        return switch (field.fieldType()) {
+            case "email" -> Validator.EMAIL;
+            // A checkbox with options is a group, answered with the chosen values
+            case "checkbox" -> hasOptions ? Validator.OPTION : Validator.CONSENT;
+            case "select", "radio" -> hasOptions ? Validator.OPTION : Validator.ANY;
+            default -> Validator.ANY;
+        };
+    }
+
+    private static Set<String> optionSet(List<FormFieldOption> options) {
+        if (options == null || options.isEmpty()) return Set.of();
+        // Clients may send either the value or, for options saved without one, the label
+        Set<String> accepted = new HashSet<>();
+        for (FormFieldOption option : options) {
+            if (option.value() != null) accepted.add(option.value());
+            if (option.label() != null) accepted.add(option.label());
+        }
+        return Set.copyOf(accepted);
+    }
+
+    private static boolean isOption(Object answer, Set<String> options) {
+        if (answer instanceof String s) return options.contains(s);
+        if (answer instanceof Collection<?> values) {
+            for (Object value : values) {
+                if (!(value instanceof String s) || !options.contains(s)) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isBlank(Object answer) {
+        if (answer == null) return true;
+        if (answer instanceof String s) return s.isBlank();
+        if (answer instanceof Collection<?> values) return values.isEmpty();
+        return false;
+    }
+
+    private static String answerText(Map<String, Object> answers, String key) {
+        if (answers == null || key == null) return null;
+        Object val = answers.get(key);
+        return val != null ? val.toString() : null;
+    }
+
+    private static ApiException invalid(Check check, String problem) {
+        return new ApiException(HttpStatus.UNPROCESSABLE_ENTITY, "Field '" + check.label() + "' " + problem);
+    }
+
+    private enum Validator { ANY, EMAIL, CONSENT, OPTION }
+
+    private record Check(String key, String label, boolean required, Validator validator, Set<String> options) {}
+}
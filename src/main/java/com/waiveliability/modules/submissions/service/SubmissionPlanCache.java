@@ -0,0 +1,37 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.waiveliability.modules.forms.service.PublicFormCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Compiled {@link SubmissionPlan}s keyed by the published form's ETag, which changes with any
+ * edit to the form. Plans therefore never need evicting; superseded versions simply age out.
+ */
+@Component
+class SubmissionPlanCache {
+
+    static final String CACHE_NAME = "submission-plans";
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final long MAX_ENTRIES = 10_000;
+
+    private final Cache<String, SubmissionPlan> cache;
+
+    SubmissionPlanCache(MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterAccess(TTL)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    SubmissionPlan get(PublicFormCache.PublicForm form) {
+        return cache.get(form.etag(), etag -> SubmissionPlan.compile(form.form()));
+    }
+}
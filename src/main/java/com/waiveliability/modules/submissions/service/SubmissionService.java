@@ -1,27 +1,31 @@
 package com.waiveliability.modules.submissions.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.waiveliability.common.exception.ApiException;
-import com.waiveliability.common.exception.PlanLimitExceededException;
+import com.waiveliability.common.outbox.OutboxService;
+import com.waiveliability.common.pagination.CursorPageResponse;
 import com.waiveliability.common.pagination.PageResponse;
+import com.waiveliability.common.pagination.SeekCursor;
+import com.waiveliability.common.storage.PresignedUrlCache;
 import com.waiveliability.common.storage.S3Service;
-import com.waiveliability.modules.document.service.DocumentService;
-import com.waiveliability.modules.forms.domain.Form;
-import com.waiveliability.modules.forms.domain.FormField;
-import com.waiveliability.modules.forms.repository.FormFieldRepository;
+import com.waiveliability.modules.billing.service.UsageService;
+import com.waiveliability.modules.document.service.PdfGenerationHandler;
 import com.waiveliability.modules.forms.repository.FormRepository;
-import com.waiveliability.modules.identity.domain.Tenant;
+import com.waiveliability.modules.forms.service.PublicFormCache;
 import com.waiveliability.modules.identity.repository.TenantRepository;
-import com.waiveliability.modules.notification.service.EmailService;
+import com.waiveliability.modules.identity.service.TenantSlugCache;
+import com.waiveliability.modules.identity.service.TenantSnapshot;
 import com.waiveliability.modules.submissions.domain.Submission;
 import com.waiveliability.modules.submissions.dto.SubmissionResponse;
+import com.waiveliability.modules.submissions.dto.SubmissionUrlsResponse;
 import com.waiveliability.modules.submissions.dto.SubmitFormRequest;
+import com.waiveliability.modules.submissions.repository.SubmissionListRow;
 import com.waiveliability.modules.submissions.repository.SubmissionRepository;
 import com.waiveliability.modules.submissions.repository.SubmissionSpecifications;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -29,15 +33,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.PrintWriter;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -46,76 +48,92 @@ import java.util.UUID;
 public class SubmissionService {
 
     private static final Set<String> VALID_STATUSES = Set.of("pending", "reviewed", "archived");
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final Duration URL_EXPIRY = Duration.ofSeconds(900);
+    private static final String STAGE_TIMER = "submission.submit.stage";
 
     private final SubmissionRepository submissionRepository;
     private final FormRepository formRepository;
-    private final FormFieldRepository formFieldRepository;
     private final TenantRepository tenantRepository;
+    private final TenantSlugCache tenantSlugCache;
+    private final PublicFormCache publicFormCache;
+    private final SubmissionPlanCache submissionPlanCache;
     private final S3Service s3Service;
+    private final PresignedUrlCache presignedUrlCache;
     private final ObjectMapper objectMapper;
-    private final DocumentService documentService;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
+    private final UsageService usageService;
+    private final SignatureService signatureService;
+    private final MeterRegistry meterRegistry;
 
     public SubmissionResponse submitForm(String tenantSlug, UUID formId, SubmitFormRequest req) {
-        // 1. Look up tenant by slug
-        Tenant tenant = tenantRepository.findBySlug(tenantSlug)
-            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Tenant not found"));
-
-        // 2. Look up form — must be published and belong to tenant
-        Form form = formRepository.findByIdAndTenantId(formId, tenant.getId())
-            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Form not found"));
-        if (!"published".equals(form.getStatus())) {
-            throw new ApiException(HttpStatus.FORBIDDEN, "Form is not published");
-        }
+        long start = System.nanoTime();
 
-        // 3. Validate required fields
-        List<FormField> fields = formFieldRepository.findByFormIdOrderByFieldOrder(formId);
-        for (FormField field : fields) {
-            if (field.isRequired()) {
-                Object answer = req.answers() != null ? req.answers().get(field.getId().toString()) : null;
-                if (answer == null || answer.toString().isBlank()) {
-                    throw new ApiException(HttpStatus.UNPROCESSABLE_ENTITY,
-                        "Field '" + field.getLabel() + "' is required");
-                }
-            }
-        }
+        // 1. Look up the published form and its fields — from memory when the public page is warm,
+        //    otherwise in one query. 404 for an unknown tenant or form, 403 when not published.
+        PublicFormCache.PublicForm published = publicFormCache.get(tenantSlug, formId);
+        UUID tenantId = published.tenantId();
+        SubmissionPlan plan = submissionPlanCache.get(published);
+        start = recordStage("lookup", start);
 
-        // 4. Extract submitter name and email from answers
-        String submitterName = extractSubmitterName(fields, req.answers());
-        String submitterEmail = extractSubmitterEmail(fields, req.answers());
+        // 2. Validate answers against the form's compiled plan
+        plan.validate(req.answers());
 
-        // 5. Store signature in S3 if provided
+        // 3. Extract submitter name and email from answers
+        String submitterName = plan.submitterName(req.answers());
+        String submitterEmail = plan.submitterEmail(req.answers());
+        start = recordStage("validate", start);
+
+        // 4. Check the signature: either already uploaded by the client, or sent inline, in which
+        //    case it is decoded now and uploaded to S3 after commit
         String signatureKey = null;
-        if (req.signatureData() != null && !req.signatureData().isBlank()) {
-            signatureKey = uploadSignature(tenant.getId(), formId, req.signatureData());
+        byte[] signature = null;
+        if (req.signatureKey() != null && !req.signatureKey().isBlank()) {
+            signatureKey = signatureService.confirmUpload(tenantId, formId, req.signatureKey());
+            start = recordStage("signature", start);
+        } else if (req.signatureData() != null && !req.signatureData().isBlank()) {
+            signature = SignatureService.decodePng(req.signatureData());
+            start = recordStage("signature", start);
         }
 
-        // 6. Serialize form data
+        // 5. Serialize form data
         String formDataJson = serializeAnswers(req.answers());
 
-        // 7. Create submission
+        // 6. Create submission; references avoid loading the form and tenant rows
         Submission submission = Submission.builder()
-            .form(form)
-            .tenant(tenant)
+            .form(formRepository.getReferenceById(formId))
+            .tenant(tenantRepository.getReferenceById(tenantId))
             .submitterName(submitterName)
             .submitterEmail(submitterEmail)
             .formData(formDataJson)
             .signatureS3Key(signatureKey)
             .status("pending")
             .build();
-        submissionRepository.save(submission);
-
-        // 8. Trigger async PDF generation
-        documentService.generatePdfAsync(submission.getId());
+        if (signatureKey == null) {
+            submissionRepository.save(submission);
+        } else {
+            try {
+                submissionRepository.saveAndFlush(submission);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent submit attached the same upload after our check
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Signature upload has already been used");
+            }
+        }
 
-        // 9. Send confirmation email to submitter (async)
-        emailService.sendSubmissionConfirmation(submission, tenant);
+        // 7. Queue the signature upload, PDF generation and emails; they run once this
+        //    transaction commits. With an inline signature, the PDF is queued after it is uploaded.
+        if (signature != null) {
+            signatureService.stage(tenantId, formId, submission.getId(), signature);
+        } else {
+            outboxService.enqueue(PdfGenerationHandler.KIND, submission.getId());
+        }
+        outboxService.enqueue(SubmissionConfirmationHandler.KIND, submission.getId());
+        outboxService.enqueue(SubmissionAlertHandler.KIND, submission.getId());
 
-        // 10. Send alert to tenant admin if on Basic+ plan (async)
-        var plan = tenant.getPlan() != null
-            ? com.waiveliability.modules.billing.domain.Subscription.PlanType.valueOf(tenant.getPlan().toLowerCase())
-            : com.waiveliability.modules.billing.domain.Subscription.PlanType.free;
-        emailService.sendNewSubmissionAlert(submission, tenant, plan);
+        // 8. Count the submission last: the increment locks the tenant's usage row until commit,
+        //    and every concurrent submit for the tenant queues behind that lock
+        usageService.submissionsChanged(tenantId, 1);
+        recordStage("persist", start);
 
         return toResponse(submission);
     }
@@ -123,10 +141,43 @@ public class SubmissionService {
     @Transactional(readOnly = true)
     public PageResponse<SubmissionResponse> getSubmissions(UUID tenantId, UUID formId, String status,
                                                             String submitterName, Instant startDate,
-                                                            Instant endDate, Pageable pageable) {
-        Specification<Submission> spec = buildSpecification(tenantId, formId, status, submitterName, startDate, endDate);
-        Page<Submission> page = submissionRepository.findAll(spec, pageable);
-        return PageResponse.of(page.map(this::toResponse));
+                                                            Instant endDate, Pageable pageable,
+                                                            boolean includeAnswers, boolean includeUrls) {
+        Specification<Submission> spec = SubmissionSpecifications.matching(
+            tenantId, formId, status, submitterName, startDate, endDate);
+        Page<SubmissionListRow> page = submissionRepository.findListRows(spec, pageable, includeAnswers);
+        return PageResponse.of(page.map(row -> toResponse(row, includeUrls)));
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #getSubmissions}, ordered newest first. The total is only
+     * counted when {@code includeTotal} is set.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<SubmissionResponse> getSubmissionsAfter(UUID tenantId, UUID formId, String status,
+                                                                      String submitterName, Instant startDate,
+                                                                      Instant endDate, String cursor, int size,
+                                                                      boolean includeTotal, boolean includeAnswers,
+                                                                      boolean includeUrls) {
+        Specification<Submission> spec = SubmissionSpecifications.matching(
+            tenantId, formId, status, submitterName, startDate, endDate);
+        SeekCursor after = SeekCursor.decode(cursor);
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+
+        // One extra row tells whether another page follows without a count
+        List<SubmissionListRow> rows = submissionRepository.findListRowsAfter(spec,
+            after != null ? after.timestamp() : null, after != null ? after.id() : null, limit + 1, includeAnswers);
+        boolean last = rows.size() <= limit;
+        List<SubmissionListRow> page = last ? rows : rows.subList(0, limit);
+
+        String nextCursor = null;
+        if (!last) {
+            SubmissionListRow tail = page.get(page.size() - 1);
+            nextCursor = new SeekCursor(tail.submittedAt(), tail.id()).encode();
+        }
+        Long total = includeTotal ? submissionRepository.count(spec) : null;
+        return new CursorPageResponse<>(
+            page.stream().map(row -> toResponse(row, includeUrls)).toList(), limit, nextCursor, last, total);
     }
 
     @Transactional(readOnly = true)
@@ -137,15 +188,25 @@ public class SubmissionService {
         return toResponse(s);
     }
 
+    /**
+     * The signature and PDF links of one submission, for listings fetched without them.
+     */
+    @Transactional(readOnly = true)
+    public SubmissionUrlsResponse getSubmissionUrls(UUID tenantId, UUID id) {
+        Submission s = submissionRepository.findById(id)
+            .filter(sub -> sub.getTenant().getId().equals(tenantId))
+            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Submission not found"));
+        return new SubmissionUrlsResponse(signedUrl(s.getSignatureS3Key()), signedUrl(s.getPdfS3Key()));
+    }
+
     @Transactional(readOnly = true)
     public SubmissionResponse getPublicSubmission(String tenantSlug, UUID submissionId) {
         // Look up tenant by slug
-        var tenant = tenantRepository.findBySlug(tenantSlug)
-            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Tenant not found"));
+        TenantSnapshot tenant = tenantSlugCache.require(tenantSlug);
 
         // Look up submission by ID and tenant
         Submission s = submissionRepository.findById(submissionId)
-            .filter(sub -> sub.getTenant().getId().equals(tenant.getId()))
+            .filter(sub -> sub.getTenant().getId().equals(tenant.id()))
             .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Submission not found"));
         return toResponse(s);
     }
@@ -170,171 +231,71 @@ public class SubmissionService {
             .filter(sub -> sub.getTenant().getId().equals(tenantId))
             .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Submission not found"));
 
-        // Clean up S3 objects — don't fail the delete if cleanup fails
-        if (submission.getSignatureS3Key() != null) {
-            try {
-                s3Service.delete(submission.getSignatureS3Key());
-            } catch (Exception e) {
-                log.error("Failed to delete signature S3 object: {}", submission.getSignatureS3Key(), e);
-            }
-        }
-        if (submission.getPdfS3Key() != null) {
-            try {
-                s3Service.delete(submission.getPdfS3Key());
-            } catch (Exception e) {
-                log.error("Failed to delete PDF S3 object: {}", submission.getPdfS3Key(), e);
-            }
-        }
+        // Clean up S3 objects in the background — don't fail or slow the delete for them
+        s3Service.deleteInBackground(submission.getSignatureS3Key());
+        s3Service.deleteInBackground(submission.getPdfS3Key());
 
         submissionRepository.delete(submission);
-    }
-
-    @Transactional(readOnly = true)
-    public void exportCsv(UUID tenantId, UUID formId, String status, String submitterName,
-                           Instant startDate, Instant endDate, PrintWriter writer) {
-        // Plan gate: only premium tenants can export
-        Tenant tenant = tenantRepository.findById(tenantId)
-            .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Tenant not found"));
-        String plan = tenant.getPlan() != null ? tenant.getPlan() : "free";
-        if (!"premium".equals(plan)) {
-            throw new PlanLimitExceededException("csv_export");
-        }
-
-        Specification<Submission> spec = buildSpecification(tenantId, formId, status, submitterName, startDate, endDate);
-        // Limit to prevent memory exhaustion - export largest reasonable dataset
-        org.springframework.data.domain.Pageable exportPageable =
-            org.springframework.data.domain.PageRequest.of(0, 10000);
-        List<Submission> submissions = submissionRepository.findAll(spec, exportPageable).getContent();
-
-        // Write CSV header
-        writer.println("id,form_id,submitter_name,submitter_email,status,submitted_at");
-
-        // Write CSV rows
-        for (Submission s : submissions) {
-            writer.println(String.join(",",
-                escapeCsv(s.getId().toString()),
-                escapeCsv(s.getForm().getId().toString()),
-                escapeCsv(s.getSubmitterName()),
-                escapeCsv(s.getSubmitterEmail()),
-                escapeCsv(s.getStatus()),
-                escapeCsv(s.getSubmittedAt() != null ? s.getSubmittedAt().toString() : "")
-            ));
-        }
-
-        writer.flush();
+        usageService.submissionsChanged(tenantId, -1);
     }
 
     // --- helpers ---
 
-    private Specification<Submission> buildSpecification(UUID tenantId, UUID formId, String status,
-                                                          String submitterName, Instant startDate, Instant endDate) {
-        Specification<Submission> spec = Specification.where(SubmissionSpecifications.hasTenantId(tenantId));
-
-        if (formId != null) {
-            spec = spec.and(SubmissionSpecifications.hasFormId(formId));
-        }
-        if (status != null && !status.isBlank()) {
-            spec = spec.and(SubmissionSpecifications.hasStatus(status));
-        }
-        if (submitterName != null && !submitterName.isBlank()) {
-            spec = spec.and(SubmissionSpecifications.submitterNameContains(submitterName));
-        }
-        if (startDate != null || endDate != null) {
-            spec = spec.and(SubmissionSpecifications.submittedBetween(startDate, endDate));
-        }
-
-        return spec;
-    }
-
-    private String escapeCsv(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
-    }
-
-    private String extractSubmitterName(List<FormField> fields, Map<String, Object> answers) {
-        if (answers == null) return null;
-        return fields.stream()
-            .filter(f -> "text".equals(f.getFieldType()) &&
-                f.getLabel().toLowerCase().contains("name"))
-            .findFirst()
-            .map(f -> {
-                Object val = answers.get(f.getId().toString());
-                return val != null ? val.toString() : null;
-            })
-            .orElse(null);
-    }
-
-    private String extractSubmitterEmail(List<FormField> fields, Map<String, Object> answers) {
-        if (answers == null) return null;
-        return fields.stream()
-            .filter(f -> "email".equals(f.getFieldType()))
-            .findFirst()
-            .map(f -> {
-                Object val = answers.get(f.getId().toString());
-                return val != null ? val.toString() : null;
-            })
-            .orElse(null);
-    }
-
-    private String uploadSignature(UUID tenantId, UUID formId, String base64DataUri) {
-        try {
-            String base64 = base64DataUri.contains(",")
-                ? base64DataUri.split(",")[1]
-                : base64DataUri;
-            byte[] bytes = java.util.Base64.getDecoder().decode(base64);
-            String key = String.format("signatures/%s/%s/%s.png", tenantId, formId, UUID.randomUUID());
-            s3Service.upload(key, new ByteArrayInputStream(bytes), bytes.length, "image/png");
-            return key;
-        } catch (Exception e) {
-            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid signature data");
-        }
+    /**
+     * Records the time since {@code start} against a submit stage and returns the current time,
+     * which starts the next stage.
+     */
+    private long recordStage(String stage, long start) {
+        long now = System.nanoTime();
+        meterRegistry.timer(STAGE_TIMER, "stage", stage).record(now - start, TimeUnit.NANOSECONDS);
+        return now;
     }
 
     private String serializeAnswers(Map<String, Object> answers) {
-        if (answers == null) return "{}";
-        try {
-            return objectMapper.writeValueAsString(answers);
-        } catch (JsonProcessingException e) {
-            throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid answers format");
-        }
+        return SubmissionAnswers.serialize(objectMapper, answers);
     }
 
-    @SuppressWarnings("unchecked")
     private Map<String, Object> deserializeAnswers(String json) {
-        if (json == null || json.isBlank()) return Map.of();
-        try {
-            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
-        } catch (JsonProcessingException e) {
-            return Map.of();
-        }
+        return SubmissionAnswers.deserialize(objectMapper, json);
     }
 
     private SubmissionResponse toResponse(Submission s) {
-        String signatureUrl = null;
-        if (s.getSignatureS3Key() != null) {
-            try {
-                signatureUrl = s3Service.generateSignedUrl(s.getSignatureS3Key(), Duration.ofSeconds(900));
-            } catch (Exception ignored) {}
-        }
-        String pdfUrl = null;
-        if (s.getPdfS3Key() != null) {
-            try {
-                pdfUrl = s3Service.generateSignedUrl(s.getPdfS3Key(), Duration.ofSeconds(900));
-            } catch (Exception ignored) {}
-        }
         return new SubmissionResponse(
             s.getId(),
             s.getForm().getId(),
             s.getSubmitterName(),
             s.getSubmitterEmail(),
             deserializeAnswers(s.getFormData()),
-            signatureUrl,
-            pdfUrl,
+            signedUrl(s.getSignatureS3Key()),
+            signedUrl(s.getPdfS3Key()),
             s.getStatus(),
             s.getSubmittedAt()
         );
     }
+
+    /**
+     * Maps a listing row. Answers are only present when the row was fetched with them, and the
+     * signature and PDF links are left null unless {@code includeUrls}.
+     */
+    private SubmissionResponse toResponse(SubmissionListRow row, boolean includeUrls) {
+        return new SubmissionResponse(
+            row.id(),
+            row.formId(),
+            row.submitterName(),
+            row.submitterEmail(),
+            row.formData() != null ? deserializeAnswers(row.formData()) : null,
+            includeUrls ? signedUrl(row.signatureS3Key()) : null,
+            includeUrls ? signedUrl(row.pdfS3Key()) : null,
+            row.status(),
+            row.submittedAt()
+        );
+    }
+
+    private String signedUrl(String key) {
+        try {
+            return presignedUrlCache.get(key, URL_EXPIRY);
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
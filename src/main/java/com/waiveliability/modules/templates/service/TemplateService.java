@@ -5,6 +5,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.waiveliability.common.exception.ApiException;
 import com.waiveliability.common.pagination.PageResponse;
+import com.waiveliability.modules.billing.service.UsageService;
 import com.waiveliability.modules.forms.domain.Form;
 import com.waiveliability.modules.forms.domain.FormField;
 import com.waiveliability.modules.forms.dto.FormFieldOption;
@@ -40,6 +41,7 @@ public class TemplateService {
     private final FormFieldRepository formFieldRepository;
     private final TenantRepository tenantRepository;
     private final ObjectMapper objectMapper;
+    private final UsageService usageService;
 
     @Transactional(readOnly = true)
     public PageResponse<TemplateSummaryResponse> getTemplates(String category, Pageable pageable) {
@@ -69,6 +71,7 @@ public class TemplateService {
             .status("draft")
             .build();
         formRepository.save(form);
+        usageService.formsChanged(tenantId, 1);
 
         List<FormField> fields = template.getFields().stream().map(tf ->
             FormField.builder()
@@ -11,17 +11,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
@@ -32,6 +33,9 @@ public class JwtFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String ACCESS_COOKIE = "access_token";
 
+    // One immutable authority list per role, shared by every request with that role
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES = new ConcurrentHashMap<>();
+
     private final JwtService jwtService;
 
     @Override
@@ -40,48 +44,61 @@ public class JwtFilter extends OncePerRequestFilter {
         @NonNull HttpServletResponse response,
         @NonNull FilterChain chain
     ) throws ServletException, IOException {
-        try {
-            extractToken(request).ifPresent(token -> authenticate(token));
+        String token = extractToken(request);
+        UUID tenantId = token != null ? authenticate(token) : null;
+        if (tenantId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (TenantContext.Scope ignored = TenantContext.open(tenantId)) {
             chain.doFilter(request, response);
-        } finally {
-            TenantContext.clear();
         }
     }
 
-    private Optional<String> extractToken(HttpServletRequest request) {
+    private String extractToken(HttpServletRequest request) {
         String header = request.getHeader(AUTHORIZATION_HEADER);
-        if (StringUtils.hasText(header) && header.startsWith(BEARER_PREFIX)) {
-            return Optional.of(header.substring(BEARER_PREFIX.length()));
+        if (header != null && header.startsWith(BEARER_PREFIX) && header.length() > BEARER_PREFIX.length()) {
+            return header.substring(BEARER_PREFIX.length());
         }
-        if (request.getCookies() != null) {
-            return Arrays.stream(request.getCookies())
-                .filter(c -> ACCESS_COOKIE.equals(c.getName()))
-                .map(Cookie::getValue)
-                .findFirst();
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (ACCESS_COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
         }
-        return Optional.empty();
+        return null;
     }
 
-    private void authenticate(String token) {
+    /**
+     * Sets the security context from a valid access token and returns its tenant, or returns
+     * null if the token is not one.
+     */
+    private UUID authenticate(String token) {
         try {
             Claims claims = jwtService.validateAndParseClaims(token);
             if (!jwtService.isAccessToken(claims)) {
-                return;
+                return null;
             }
-            UUID userId = jwtService.extractUserId(claims);
             UUID tenantId = jwtService.extractTenantId(claims);
-            String role = jwtService.extractRole(claims);
-
-            TenantContext.set(tenantId);
 
+            // The subject is the user id as issued, so it is used as the principal as-is
             var auth = new UsernamePasswordAuthenticationToken(
-                userId.toString(),
+                claims.getSubject(),
                 null,
-                List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+                authorities(jwtService.extractRole(claims))
             );
             SecurityContextHolder.getContext().setAuthentication(auth);
+            return tenantId;
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid JWT token: {}", e.getMessage());
+            return null;
         }
     }
+
+    static List<GrantedAuthority> authorities(String role) {
+        return AUTHORITIES.computeIfAbsent(role,
+            r -> List.of(new SimpleGrantedAuthority("ROLE_" + r.toUpperCase(Locale.ROOT))));
+    }
 }
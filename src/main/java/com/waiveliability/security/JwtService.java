@@ -1,21 +1,44 @@
 package com.waiveliability.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.waiveliability.config.JwtConfig;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Issues and verifies JWTs. The signing key and parser are built once. Access tokens that
+ * verified recently are remembered by hash until they expire, so the burst of parallel calls
+ * a dashboard makes with one token pays for signature verification and parsing only once.
+ *
+ * <p>Tokens name their signing key in the {@code kid} header. New tokens are signed with the
+ * active key; retired keys listed in {@code app.jwt.previous-keys} still verify, so a secret
+ * can be rotated without logging everyone out.
+ */
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
     private static final String CLAIM_TENANT_ID = "tenantId";
@@ -24,7 +47,43 @@ public class JwtService {
     private static final String TOKEN_TYPE_REFRESH = "refresh";
     private static final String CLAIM_TOKEN_TYPE = "type";
 
+    static final String VERIFIED_CACHE_NAME = "jwt-verified-tokens";
+    private static final long MAX_VERIFIED_TOKENS = 10_000;
+
     private final JwtConfig jwtConfig;
+    private final SecretKey signingKey;
+    private final Map<String, SecretKey> verificationKeys;
+    private final JwtParser parser;
+    private final Cache<ByteBuffer, Claims> verified;
+
+    public JwtService(JwtConfig jwtConfig, MeterRegistry meterRegistry) {
+        this.jwtConfig = jwtConfig;
+        this.signingKey = hmacKey(jwtConfig.getSecret());
+        Map<String, SecretKey> keys = new HashMap<>();
+        jwtConfig.getPreviousKeys().forEach((kid, secret) -> keys.put(kid, hmacKey(secret)));
+        keys.put(jwtConfig.getKeyId(), signingKey);
+        this.verificationKeys = Map.copyOf(keys);
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String kid = header.getKeyId();
+                // Tokens issued before key ids were introduced carry none
+                if (kid == null) return signingKey;
+                SecretKey key = verificationKeys.get(kid);
+                if (key == null) {
+                    throw new UnsupportedJwtException("Unknown signing key: " + kid);
+                }
+                return key;
+            }
+        }).build();
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(MAX_VERIFIED_TOKENS)
+            .expireAfter(Expiry.<ByteBuffer, Claims>creating((token, claims) ->
+                Duration.between(Instant.now(), claims.getExpiration().toInstant())))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, VERIFIED_CACHE_NAME);
+    }
 
     public String issueAccessToken(UUID userId, UUID tenantId, String role) {
         return buildToken(userId, tenantId, role, TOKEN_TYPE_ACCESS, jwtConfig.getAccessTokenExpiry());
@@ -37,22 +96,33 @@ public class JwtService {
     private String buildToken(UUID userId, UUID tenantId, String role, String type, long expirySeconds) {
         Instant now = Instant.now();
         return Jwts.builder()
+            .header().keyId(jwtConfig.getKeyId()).and()
             .subject(userId.toString())
             .claim(CLAIM_TENANT_ID, tenantId.toString())
             .claim(CLAIM_ROLE, role)
             .claim(CLAIM_TOKEN_TYPE, type)
             .issuedAt(Date.from(now))
             .expiration(Date.from(now.plusSeconds(expirySeconds)))
-            .signWith(signingKey())
+            .signWith(signingKey)
             .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry and returns its claims. Parsed claims are
+     * immutable, so cached ones are shared between callers.
+     */
     public Claims validateAndParseClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(signingKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+        ByteBuffer hash = hash(token);
+        Claims claims = verified.getIfPresent(hash);
+        if (claims != null) {
+            return claims;
+        }
+        claims = parser.parseSignedClaims(token).getPayload();
+        // Refresh tokens are rare and get revoked, so only access tokens are remembered
+        if (isAccessToken(claims) && claims.getExpiration() != null) {
+            verified.put(hash, claims);
+        }
+        return claims;
     }
 
     public boolean isAccessToken(Claims claims) {
@@ -84,7 +154,15 @@ public class JwtService {
         }
     }
 
-    private SecretKey signingKey() {
-        return Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -1,13 +1,10 @@
 package com.waiveliability.security;
 
 import com.waiveliability.common.exception.PlanLimitExceededException;
-import com.waiveliability.modules.billing.domain.Subscription;
 import com.waiveliability.modules.billing.domain.Subscription.PlanType;
-import com.waiveliability.modules.billing.repository.SubscriptionRepository;
-import com.waiveliability.modules.forms.repository.FormRepository;
-import com.waiveliability.modules.identity.domain.Tenant;
-import com.waiveliability.modules.identity.repository.TenantRepository;
-import com.waiveliability.modules.submissions.repository.SubmissionRepository;
+import com.waiveliability.modules.billing.service.EntitlementService;
+import com.waiveliability.modules.billing.service.Entitlements;
+import com.waiveliability.modules.billing.service.UsageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
@@ -15,12 +12,12 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
 import java.util.UUID;
 
 /**
  * AOP aspect that enforces plan limits declaratively via @CheckPlanLimit.
- * Implemented in Sprint 8 with full billing module.
+ * Implemented in Sprint 8 with full billing module. The plan comes from the cached
+ * {@link Entitlements} snapshot, so feature checks do not touch the database.
  */
 @Aspect
 @Component
@@ -28,15 +25,8 @@ import java.util.UUID;
 @Slf4j
 public class PlanEnforcer {
 
-    private final SubscriptionRepository subscriptionRepository;
-    private final TenantRepository tenantRepository;
-    private final FormRepository formRepository;
-    private final SubmissionRepository submissionRepository;
-
-    private static final int FREE_FORMS_LIMIT = 3;
-    private static final int FREE_SUBMISSIONS_LIMIT = 100;
-    private static final int BASIC_FORMS_LIMIT = 10;
-    private static final int BASIC_SUBMISSIONS_LIMIT = 1000;
+    private final EntitlementService entitlementService;
+    private final UsageService usageService;
 
     @Before("@annotation(checkPlanLimit)")
     public void enforce(JoinPoint joinPoint, CheckPlanLimit checkPlanLimit) {
@@ -50,10 +40,7 @@ public class PlanEnforcer {
 
         log.debug("Checking plan limit for feature: {}, tenant: {}", feature, tenantId);
 
-        Subscription subscription = subscriptionRepository.findByTenantId(tenantId)
-                .orElseGet(() -> createDefaultSubscription(tenantId));
-
-        PlanType plan = subscription.getPlan();
+        PlanType plan = entitlementService.get(tenantId).plan();
 
         // Check feature-specific limits
         switch (feature) {
@@ -88,32 +75,14 @@ public class PlanEnforcer {
         throw new PlanLimitExceededException(feature.name());
     }
 
-    private Subscription createDefaultSubscription(UUID tenantId) {
-        log.info("Creating default free subscription for tenant: {}", tenantId);
-        Tenant tenant = tenantRepository.findById(tenantId)
-                .orElseThrow(() -> new IllegalArgumentException("Tenant not found"));
-
-        Subscription subscription = Subscription.builder()
-                .tenant(tenant)
-                .status(Subscription.SubscriptionStatus.active)
-                .plan(PlanType.free)
-                .currentPeriodStart(Instant.now())
-                .currentPeriodEnd(Instant.now().plusSeconds(365 * 24 * 60 * 60))
-                .build();
-        return subscriptionRepository.save(subscription);
-    }
-
     /**
      * Check if tenant can create a new form (enforce form limits).
      */
     public void checkFormLimit(UUID tenantId) {
-        Subscription subscription = subscriptionRepository.findByTenantId(tenantId)
-                .orElseGet(() -> createDefaultSubscription(tenantId));
-
-        int formsUsed = formRepository.countByTenantId(tenantId);
-        int limit = getFormsLimit(subscription.getPlan());
+        Entitlements entitlements = entitlementService.get(tenantId);
+        if (entitlements.formsLimit() == Entitlements.UNLIMITED) return;
 
-        if (limit > 0 && formsUsed >= limit) {
+        if (!entitlements.allowsForms(usageService.get(tenantId).forms())) {
             throw new PlanLimitExceededException("UNLIMITED_FORMS");
         }
     }
@@ -122,32 +91,11 @@ public class PlanEnforcer {
      * Check if tenant can create a new submission (enforce submission limits).
      */
     public void checkSubmissionLimit(UUID tenantId) {
-        Subscription subscription = subscriptionRepository.findByTenantId(tenantId)
-                .orElseGet(() -> createDefaultSubscription(tenantId));
+        Entitlements entitlements = entitlementService.get(tenantId);
+        if (entitlements.submissionsLimit() == Entitlements.UNLIMITED) return;
 
-        long submissionsUsed = submissionRepository.countByTenantId(tenantId);
-        int limit = getSubmissionsLimit(subscription.getPlan());
-
-        if (limit > 0 && submissionsUsed >= limit) {
+        if (!entitlements.allowsSubmissions(usageService.get(tenantId).submissions())) {
             throw new PlanLimitExceededException("UNLIMITED_SUBMISSIONS");
         }
     }
-
-    private int getFormsLimit(PlanType plan) {
-        if (plan == null) return FREE_FORMS_LIMIT;
-        return switch (plan) {
-            case free -> FREE_FORMS_LIMIT;
-            case basic -> BASIC_FORMS_LIMIT;
-            case premium -> Integer.MAX_VALUE;
-        };
-    }
-
-    private int getSubmissionsLimit(PlanType plan) {
-        if (plan == null) return FREE_SUBMISSIONS_LIMIT;
-        return switch (plan) {
-            case free -> FREE_SUBMISSIONS_LIMIT;
-            case basic -> BASIC_SUBMISSIONS_LIMIT;
-            case premium -> Integer.MAX_VALUE;
-        };
-    }
 }
@@ -3,8 +3,13 @@ package com.waiveliability.security;
 import java.util.UUID;
 
 /**
- * ThreadLocal store for the current tenant, populated by JwtFilter on every authenticated request.
+ * The current tenant, populated by JwtFilter on every authenticated request.
  * All service methods use TenantContext.current() — never accept tenantId as a caller parameter.
+ *
+ * <p>The tenant is bound for a scope with {@link #open} in a try-with-resources block, and
+ * closing the scope restores whatever was bound before. A thread, platform or virtual, never
+ * carries a tenant past the end of the request that set it. (ScopedValue would express this
+ * directly, but it is still a preview API on Java 21.)
  */
 public final class TenantContext {
 
@@ -16,11 +21,30 @@ public final class TenantContext {
         return TENANT.get();
     }
 
-    public static void set(UUID tenantId) {
+    /**
+     * Binds {@code tenantId} to the current thread until the returned scope is closed.
+     */
+    public static Scope open(UUID tenantId) {
+        UUID previous = TENANT.get();
         TENANT.set(tenantId);
+        return new Scope(previous);
     }
 
-    public static void clear() {
-        TENANT.remove();
+    public static final class Scope implements AutoCloseable {
+
+        private final UUID previous;
+
+        private Scope(UUID previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                TENANT.remove();
+            } else {
+                TENANT.set(previous);
+            }
+        }
     }
 }
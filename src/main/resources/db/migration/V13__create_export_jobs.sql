@@ -0,0 +1,27 @@
+-- Asynchronous submission export jobs
+
+CREATE TABLE export_jobs (
+    id            UUID         PRIMARY KEY DEFAULT gen_random_uuid(),
+    tenant_id     UUID         NOT NULL REFERENCES tenants(id) ON DELETE CASCADE,
+    format        VARCHAR(20)  NOT NULL,
+    status        VARCHAR(20)  NOT NULL DEFAULT 'queued',   -- queued, running, completed, failed
+    filter_hash   VARCHAR(64)  NOT NULL,
+    form_id       UUID,
+    submission_status VARCHAR(50),
+    submitter_name    VARCHAR(255),
+    start_date    TIMESTAMPTZ,
+    end_date      TIMESTAMPTZ,
+    rows_written  BIGINT       NOT NULL DEFAULT 0,
+    bytes_written BIGINT       NOT NULL DEFAULT 0,
+    s3_key        VARCHAR(512),
+    error         VARCHAR(1000),
+    created_at    TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    updated_at    TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    completed_at  TIMESTAMPTZ
+);
+
+CREATE INDEX idx_export_jobs_tenant_hash ON export_jobs(tenant_id, filter_hash, created_at DESC);
+
+-- At most one in-flight job per tenant and filter; concurrent requests collapse onto it
+CREATE UNIQUE INDEX uq_export_jobs_active ON export_jobs(tenant_id, filter_hash)
+    WHERE status IN ('queued', 'running');
@@ -0,0 +1,17 @@
+-- Transactional outbox for background side effects of writes
+
+CREATE TABLE outbox_events (
+    id            UUID          PRIMARY KEY DEFAULT gen_random_uuid(),
+    kind          VARCHAR(50)   NOT NULL,
+    aggregate_id  UUID          NOT NULL,
+    status        VARCHAR(20)   NOT NULL DEFAULT 'pending',   -- pending, processing, failed
+    attempts      INT           NOT NULL DEFAULT 0,
+    available_at  TIMESTAMPTZ   NOT NULL DEFAULT now(),
+    claimed_at    TIMESTAMPTZ,
+    last_error    VARCHAR(1000),
+    created_at    TIMESTAMPTZ   NOT NULL DEFAULT now()
+);
+
+-- Dispatcher scans: due pending rows and abandoned claims, per kind
+CREATE INDEX idx_outbox_events_pending ON outbox_events(kind, available_at) WHERE status = 'pending';
+CREATE INDEX idx_outbox_events_processing ON outbox_events(kind, claimed_at) WHERE status = 'processing';
@@ -0,0 +1,16 @@
+-- Per-tenant usage counters, kept current on create/delete instead of counted
+
+CREATE TABLE tenant_usage (
+    tenant_id          UUID         PRIMARY KEY REFERENCES tenants(id) ON DELETE CASCADE,
+    forms_count        BIGINT       NOT NULL DEFAULT 0,
+    submissions_count  BIGINT       NOT NULL DEFAULT 0,
+    reconciled_at      TIMESTAMPTZ,
+    updated_at         TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+INSERT INTO tenant_usage (tenant_id, forms_count, submissions_count, reconciled_at)
+SELECT t.id,
+       (SELECT count(*) FROM forms f WHERE f.tenant_id = t.id),
+       (SELECT count(*) FROM submissions s WHERE s.tenant_id = t.id),
+       now()
+FROM tenants t;
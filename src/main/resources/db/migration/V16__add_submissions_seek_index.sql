@@ -0,0 +1,3 @@
+-- Serves keyset pagination of a tenant's submissions, newest first, with the id as tie-breaker
+CREATE INDEX IF NOT EXISTS idx_submissions_tenant_submitted_at
+    ON submissions (tenant_id, submitted_at DESC, id DESC);
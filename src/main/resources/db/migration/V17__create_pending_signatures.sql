@@ -0,0 +1,8 @@
+-- Signature images accepted with a submission and not yet uploaded to S3. The outbox moves
+-- each one to S3 after the submission commits and then deletes the row.
+CREATE TABLE pending_signatures (
+    submission_id UUID         PRIMARY KEY REFERENCES submissions(id) ON DELETE CASCADE,
+    s3_key        VARCHAR(500) NOT NULL,
+    data          BYTEA        NOT NULL,
+    created_at    TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
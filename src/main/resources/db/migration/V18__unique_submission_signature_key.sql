@@ -0,0 +1,4 @@
+-- A signature object belongs to exactly one submission: deleting a submission deletes its
+-- signature, so an uploaded key must never be attached twice
+CREATE UNIQUE INDEX uq_submissions_signature_s3_key ON submissions(signature_s3_key)
+    WHERE signature_s3_key IS NOT NULL;
@@ -0,0 +1,29 @@
+-- GCRA (generic cell rate algorithm) rate limit check, in one round trip.
+-- KEYS[1]: the limiter key, holding the bucket's theoretical arrival time (TAT) in ms
+-- ARGV[1]: emission interval in ms (period / limit)
+-- ARGV[2]: burst, the number of requests allowed back to back
+-- Returns {allowed (1/0), remaining, retry after ms, reset after ms}
+
+local interval = tonumber(ARGV[1])
+local burst = tonumber(ARGV[2])
+
+-- Redis server time, so every app instance shares one clock
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local tat = tonumber(redis.call('GET', KEYS[1]))
+if tat == nil or tat < now then
+    tat = now
+end
+
+local new_tat = tat + interval
+local allow_at = new_tat - burst * interval
+
+if allow_at > now then
+    return {0, 0, allow_at - now, tat - now}
+end
+
+-- The key expires once the bucket has fully drained, so it never outlives its window
+redis.call('SET', KEYS[1], new_tat, 'PX', new_tat - now)
+local remaining = math.floor((now - allow_at) / interval)
+return {1, remaining, 0, new_tat - now}
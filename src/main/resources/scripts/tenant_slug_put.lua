@@ -0,0 +1,15 @@
+-- Stores a tenant slug entry only if the slug has not been evicted since it was read.
+-- KEYS[1]: the slug entry
+-- KEYS[2]: the slug's eviction generation, bumped on every tenant change
+-- ARGV[1]: the generation seen before the database read ('' if there was none)
+-- ARGV[2]: the value to store
+-- ARGV[3]: TTL in ms
+-- Returns 1 if stored, 0 if a newer eviction made the value stale
+
+local generation = redis.call('GET', KEYS[2]) or ''
+if generation ~= ARGV[1] then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+return 1
@@ -0,0 +1,57 @@
+package com.waiveliability.common.pagination;
+
+import com.waiveliability.common.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeekCursorTest {
+
+    @Test
+    void encode_roundTripsThroughDecode() {
+        SeekCursor cursor = new SeekCursor(Instant.parse("2024-05-01T12:34:56.123456789Z"), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(SeekCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_treatsMissingTokenAsFirstPage() {
+        assertThat(SeekCursor.decode(null)).isNull();
+        assertThat(SeekCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_rejectsMalformedTokensWith400() {
+        UUID id = UUID.randomUUID();
+
+        assertBadRequest("not base64!");
+        assertBadRequest(token("no separators"));
+        assertBadRequest(token("1714566896:" + id + ".5"));
+        assertBadRequest(token("abc.0:" + id));
+        assertBadRequest(token("1714566896.0:not-a-uuid"));
+        // Out of Instant's range, and overflowing once the nanos carry into the seconds
+        assertBadRequest(token("9223372036854775807.0:" + id));
+        assertBadRequest(token("9223372036854775807.1000000000:" + id));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertBadRequest(String token) {
+        assertThatThrownBy(() -> SeekCursor.decode(token))
+            .isInstanceOf(ApiException.class)
+            .extracting(e -> ((ApiException) e).getStatus())
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -6,10 +6,7 @@ import com.waiveliability.modules.billing.domain.Subscription.SubscriptionStatus
 import com.waiveliability.modules.billing.dto.CheckoutResponse;
 import com.waiveliability.modules.billing.dto.LimitsResponse;
 import com.waiveliability.modules.billing.dto.SubscriptionResponse;
-import com.waiveliability.modules.billing.repository.SubscriptionRepository;
-import com.waiveliability.modules.forms.repository.FormRepository;
 import com.waiveliability.modules.identity.domain.Tenant;
-import com.waiveliability.modules.submissions.repository.SubmissionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,7 +15,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,13 +28,10 @@ class BillingServiceTest {
     private StripeService stripeService;
 
     @Mock
-    private SubscriptionRepository subscriptionRepository;
+    private EntitlementService entitlementService;
 
     @Mock
-    private FormRepository formRepository;
-
-    @Mock
-    private SubmissionRepository submissionRepository;
+    private UsageService usageService;
 
     @InjectMocks
     private BillingService billingService;
@@ -107,9 +100,8 @@ class BillingServiceTest {
                 .build();
 
         doNothing().when(stripeService).ensureSubscriptionExists(tenantId);
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(subscription));
-        when(formRepository.countByTenantId(tenantId)).thenReturn(2);
-        when(submissionRepository.countByTenantId(tenantId)).thenReturn(50L);
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(subscription));
+        when(usageService.get(tenantId)).thenReturn(new Usage(2, 50));
 
         // Act
         LimitsResponse response = billingService.getLimits(tenantId);
@@ -136,9 +128,8 @@ class BillingServiceTest {
                 .build();
 
         doNothing().when(stripeService).ensureSubscriptionExists(tenantId);
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(subscription));
-        when(formRepository.countByTenantId(tenantId)).thenReturn(5);
-        when(submissionRepository.countByTenantId(tenantId)).thenReturn(500L);
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(subscription));
+        when(usageService.get(tenantId)).thenReturn(new Usage(5, 500));
 
         // Act
         LimitsResponse response = billingService.getLimits(tenantId);
@@ -163,9 +154,8 @@ class BillingServiceTest {
                 .build();
 
         doNothing().when(stripeService).ensureSubscriptionExists(tenantId);
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(subscription));
-        when(formRepository.countByTenantId(tenantId)).thenReturn(100);
-        when(submissionRepository.countByTenantId(tenantId)).thenReturn(10000L);
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(subscription));
+        when(usageService.get(tenantId)).thenReturn(new Usage(100, 10000));
 
         // Act
         LimitsResponse response = billingService.getLimits(tenantId);
@@ -179,32 +169,47 @@ class BillingServiceTest {
     }
 
     @Test
-    void getFormsLimit_shouldReturnCorrectLimits() {
+    void getLimits_shouldUseFreeLimitsWithoutSubscriptionRow() {
+        // Arrange
+        doNothing().when(stripeService).ensureSubscriptionExists(tenantId);
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.free(tenantId));
+        when(usageService.get(tenantId)).thenReturn(new Usage(1, 10));
+
+        // Act
+        LimitsResponse response = billingService.getLimits(tenantId);
+
+        // Assert
+        assertEquals(3, response.getForms().getLimit());
+        assertEquals(100, response.getSubmissions().getLimit());
+    }
+
+    @Test
+    void forPlan_shouldReturnCorrectFormsLimits() {
         // Free plan
-        assertEquals(3, billingService.getFormsLimit(PlanType.free));
+        assertEquals(3, Entitlements.forPlan(tenantId, PlanType.free, SubscriptionStatus.active).formsLimit());
 
         // Basic plan
-        assertEquals(10, billingService.getFormsLimit(PlanType.basic));
+        assertEquals(10, Entitlements.forPlan(tenantId, PlanType.basic, SubscriptionStatus.active).formsLimit());
 
         // Premium plan
-        assertEquals(-1, billingService.getFormsLimit(PlanType.premium));
+        assertEquals(-1, Entitlements.forPlan(tenantId, PlanType.premium, SubscriptionStatus.active).formsLimit());
 
         // Null plan defaults to free
-        assertEquals(3, billingService.getFormsLimit(null));
+        assertEquals(3, Entitlements.forPlan(tenantId, null, SubscriptionStatus.active).formsLimit());
     }
 
     @Test
-    void getSubmissionsLimit_shouldReturnCorrectLimits() {
+    void forPlan_shouldReturnCorrectSubmissionsLimits() {
         // Free plan
-        assertEquals(100, billingService.getSubmissionsLimit(PlanType.free));
+        assertEquals(100, Entitlements.forPlan(tenantId, PlanType.free, SubscriptionStatus.active).submissionsLimit());
 
         // Basic plan
-        assertEquals(1000, billingService.getSubmissionsLimit(PlanType.basic));
+        assertEquals(1000, Entitlements.forPlan(tenantId, PlanType.basic, SubscriptionStatus.active).submissionsLimit());
 
         // Premium plan
-        assertEquals(-1, billingService.getSubmissionsLimit(PlanType.premium));
+        assertEquals(-1, Entitlements.forPlan(tenantId, PlanType.premium, SubscriptionStatus.active).submissionsLimit());
 
         // Null plan defaults to free
-        assertEquals(100, billingService.getSubmissionsLimit(null));
+        assertEquals(100, Entitlements.forPlan(tenantId, null, SubscriptionStatus.active).submissionsLimit());
     }
 }
@@ -0,0 +1,91 @@
+package com.waiveliability.modules.document.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.waiveliability.common.storage.S3Service;
+import com.waiveliability.modules.document.pdf.FormLayoutCache;
+import com.waiveliability.modules.document.pdf.PdfRenderer;
+import com.waiveliability.modules.forms.domain.Form;
+import com.waiveliability.modules.identity.domain.Tenant;
+import com.waiveliability.modules.submissions.domain.PendingSignature;
+import com.waiveliability.modules.submissions.domain.Submission;
+import com.waiveliability.modules.submissions.repository.PendingSignatureRepository;
+import com.waiveliability.modules.submissions.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentServiceTest {
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private PendingSignatureRepository pendingSignatureRepository;
+
+    @Mock
+    private FormLayoutCache formLayoutCache;
+
+    @Mock
+    private PdfRenderer pdfRenderer;
+
+    @Mock
+    private S3Service s3Service;
+
+    private DocumentService documentService;
+
+    @BeforeEach
+    void setUp() {
+        documentService = new DocumentService(submissionRepository, pendingSignatureRepository, formLayoutCache,
+            pdfRenderer, s3Service, new ObjectMapper());
+    }
+
+    @Test
+    void generatePdfs_embedsStagedSignatureAndKeepsItForTheUpload() throws Exception {
+        // Arrange - the signature upload gave up, so the image is only in pending_signatures
+        UUID submissionId = UUID.randomUUID();
+        Submission submission = Submission.builder()
+                .id(submissionId)
+                .tenant(Tenant.builder().id(UUID.randomUUID()).build())
+                .form(Form.builder().id(UUID.randomUUID()).build())
+                .formData("{}")
+                .submittedAt(Instant.now())
+                .build();
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+        when(submissionRepository.findWithFormByIdIn(List.of(submissionId))).thenReturn(List.of(submission));
+        when(pendingSignatureRepository.findAllById(List.of(submissionId))).thenReturn(List.of(
+                PendingSignature.builder().submissionId(submissionId).s3Key("signatures/key.png").data(png).build()));
+        when(s3Service.uploadAsync(anyString(), any(Path.class), eq("application/pdf")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        // Act
+        Map<UUID, Exception> failures = documentService.generatePdfs(List.of(submissionId));
+
+        // Assert - the PDF carries the signature, and the staged copy survives for the upload
+        assertThat(failures).isEmpty();
+        ArgumentCaptor<PdfRenderer.SubmissionContent> content = ArgumentCaptor.forClass(PdfRenderer.SubmissionContent.class);
+        verify(pdfRenderer).render(any(), content.capture(), any());
+        assertThat(content.getValue().signature()).isEqualTo(png);
+        assertThat(content.getValue().signatureMissing()).isFalse();
+        verify(submissionRepository).updatePdfS3Key(eq(submissionId), anyString(), any());
+        verify(pendingSignatureRepository, never()).deleteById(any());
+        verify(pendingSignatureRepository, never()).delete(any());
+        verify(s3Service, never()).downloadAsync(anyString());
+    }
+}
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -36,6 +37,7 @@ class AuthServiceTest {
     @Mock private TenantRepository tenantRepository;
     @Mock private JwtService jwtService;
     @Mock private HttpServletResponse httpResponse;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     private PasswordEncoder passwordEncoder;
     private JwtConfig jwtConfig;
@@ -48,7 +50,7 @@ class AuthServiceTest {
         jwtConfig.setAccessTokenExpiry(900L);
         jwtConfig.setRefreshTokenExpiry(604800L);
         authService = new AuthService(
-            userRepository, tenantRepository, passwordEncoder, jwtService, jwtConfig);
+            userRepository, tenantRepository, passwordEncoder, jwtService, jwtConfig, eventPublisher);
     }
 
     @Test
@@ -78,6 +80,7 @@ class AuthServiceTest {
 
         verify(tenantRepository).save(any(Tenant.class));
         verify(userRepository).save(any(User.class));
+        verify(eventPublisher).publishEvent(any(TenantChangedEvent.class));
     }
 
     @Test
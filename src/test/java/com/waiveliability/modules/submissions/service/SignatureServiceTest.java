@@ -0,0 +1,164 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.common.outbox.OutboxService;
+import com.waiveliability.common.storage.S3Service;
+import com.waiveliability.modules.document.service.PdfGenerationHandler;
+import com.waiveliability.modules.forms.service.PublicFormCache;
+import com.waiveliability.modules.submissions.repository.PendingSignatureRepository;
+import com.waiveliability.modules.submissions.repository.SubmissionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SignatureServiceTest {
+
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @Mock
+    private PendingSignatureRepository pendingSignatureRepository;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PublicFormCache publicFormCache;
+
+    @Mock
+    private S3Service s3Service;
+
+    @InjectMocks
+    private SignatureService signatureService;
+
+    @Test
+    void abandoned_keepsStagedSignatureAndRetriesUploadLater() {
+        // Arrange - every upload attempt failed and no PDF exists yet
+        UUID submissionId = UUID.randomUUID();
+        when(pendingSignatureRepository.existsById(submissionId)).thenReturn(true);
+        when(submissionRepository.existsByIdAndPdfS3KeyIsNotNull(submissionId)).thenReturn(false);
+        Instant before = Instant.now();
+
+        // Act
+        signatureService.abandoned(submissionId);
+
+        // Assert - the upload is queued again after a pause, and the PDF is not held up
+        verify(outboxService).enqueue(eq(SignatureUploadHandler.KIND), eq(submissionId),
+            argThat(at -> !at.isBefore(before.plus(Duration.ofMinutes(30)))));
+        verify(outboxService).enqueue(PdfGenerationHandler.KIND, submissionId);
+        verify(pendingSignatureRepository, never()).deleteById(any());
+        verify(pendingSignatureRepository, never()).delete(any());
+    }
+
+    @Test
+    void abandoned_doesNotQueueAnotherPdfOnLaterRetries() {
+        UUID submissionId = UUID.randomUUID();
+        when(pendingSignatureRepository.existsById(submissionId)).thenReturn(true);
+        when(submissionRepository.existsByIdAndPdfS3KeyIsNotNull(submissionId)).thenReturn(true);
+
+        signatureService.abandoned(submissionId);
+
+        verify(outboxService).enqueue(eq(SignatureUploadHandler.KIND), eq(submissionId), any(Instant.class));
+        verify(outboxService, never()).enqueue(PdfGenerationHandler.KIND, submissionId);
+    }
+
+    @Test
+    void abandoned_ignoresSignaturesAlreadyUploaded() {
+        UUID submissionId = UUID.randomUUID();
+        when(pendingSignatureRepository.existsById(submissionId)).thenReturn(false);
+
+        signatureService.abandoned(submissionId);
+
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void decodePng_decodesDataUriForEveryPaddingLength() {
+        // 12, 13 and 14 bytes encode with no, two and one '=' of padding
+        for (int length : new int[] {12, 13, 14}) {
+            byte[] png = png(length);
+            String dataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(png);
+
+            assertThat(SignatureService.decodePng(dataUri)).isEqualTo(png);
+        }
+    }
+
+    @Test
+    void decodePng_acceptsBareBase64WithoutDataPrefix() {
+        byte[] png = png(100);
+
+        assertThat(SignatureService.decodePng(Base64.getEncoder().encodeToString(png))).isEqualTo(png);
+    }
+
+    @Test
+    void decodePng_acceptsImageAtSizeLimit() {
+        byte[] png = png(SignatureService.MAX_SIGNATURE_BYTES);
+
+        assertThat(SignatureService.decodePng(Base64.getEncoder().encodeToString(png))).hasSize(png.length);
+    }
+
+    @Test
+    void decodePng_rejectsOversizeImageWith413() {
+        String dataUri = "data:image/png;base64,"
+            + Base64.getEncoder().encodeToString(png(SignatureService.MAX_SIGNATURE_BYTES + 1));
+
+        assertThatThrownBy(() -> SignatureService.decodePng(dataUri))
+            .isInstanceOf(ApiException.class)
+            .extracting(e -> ((ApiException) e).getStatus())
+            .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @Test
+    void decodePng_rejectsWrongMagicBytes() {
+        byte[] jpeg = png(64);
+        jpeg[0] = (byte) 0xFF;
+        jpeg[1] = (byte) 0xD8;
+
+        assertBadRequest("data:image/png;base64," + Base64.getEncoder().encodeToString(jpeg));
+    }
+
+    @Test
+    void decodePng_rejectsInputShorterThanMagicBytes() {
+        assertBadRequest("data:image/png;base64," + Base64.getEncoder().encodeToString(new byte[] {1, 2, 3}));
+    }
+
+    @Test
+    void decodePng_rejectsInvalidBase64() {
+        String encoded = Base64.getEncoder().encodeToString(png(30));
+
+        assertBadRequest("data:image/png;base64," + encoded.substring(0, 12) + "*" + encoded.substring(13));
+    }
+
+    private static byte[] png(int length) {
+        byte[] data = new byte[length];
+        System.arraycopy(PNG_MAGIC, 0, data, 0, PNG_MAGIC.length);
+        Arrays.fill(data, PNG_MAGIC.length, length, (byte) 7);
+        return data;
+    }
+
+    private static void assertBadRequest(String input) {
+        assertThatThrownBy(() -> SignatureService.decodePng(input))
+            .isInstanceOf(ApiException.class)
+            .extracting(e -> ((ApiException) e).getStatus())
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,167 @@
+package com.waiveliability.modules.submissions.service;
+
+import com.waiveliability.common.exception.ApiException;
+import com.waiveliability.modules.forms.dto.FormFieldOption;
+import com.waiveliability.modules.forms.dto.FormFieldResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubmissionPlanTest {
+
+    private static final List<FormFieldOption> SIZES = List.of(
+        new FormFieldOption("Small", "s"),
+        new FormFieldOption("Large", null));
+
+    @Test
+    void validate_requiresRequiredAnswers() {
+        FormFieldResponse name = field("text", "Full name", true);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(name));
+
+        assertInvalid(plan, Map.of(), "Field 'Full name' is required");
+        assertInvalid(plan, Map.of(key(name), "  "), "Field 'Full name' is required");
+        assertInvalid(plan, null, "Field 'Full name' is required");
+        assertValid(plan, Map.of(key(name), "Ada Lovelace"));
+    }
+
+    @Test
+    void validate_skipsBlankOptionalAnswers() {
+        FormFieldResponse email = field("email", "Email", false);
+        FormFieldResponse size = field("select", "Size", false, SIZES);
+        FormFieldResponse extras = field("checkbox", "Extras", false, SIZES);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(email, size, extras));
+
+        Map<String, Object> answers = new HashMap<>();
+        answers.put(key(email), "");
+        answers.put(key(size), null);
+        answers.put(key(extras), List.of());
+        assertValid(plan, answers);
+    }
+
+    @Test
+    void validate_checksEmailFormat() {
+        FormFieldResponse email = field("email", "Email", true);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(email));
+
+        assertValid(plan, Map.of(key(email), "ada@example.com"));
+        assertInvalid(plan, Map.of(key(email), "not-an-email"), "Field 'Email' must be a valid email address");
+        assertInvalid(plan, Map.of(key(email), "ada @example.com"), "Field 'Email' must be a valid email address");
+        assertInvalid(plan, Map.of(key(email), 42), "Field 'Email' must be a valid email address");
+    }
+
+    @Test
+    void validate_requiresRequiredConsentToBeChecked() {
+        FormFieldResponse consent = field("checkbox", "I agree", true);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(consent));
+
+        assertValid(plan, Map.of(key(consent), true));
+        assertValid(plan, Map.of(key(consent), "true"));
+        assertInvalid(plan, Map.of(key(consent), false), "Field 'I agree' is required");
+        assertInvalid(plan, Map.of(key(consent), "false"), "Field 'I agree' is required");
+        assertInvalid(plan, Map.of(key(consent), "yes"), "Field 'I agree' must be true or false");
+    }
+
+    @Test
+    void validate_allowsOptionalConsentToBeUnchecked() {
+        FormFieldResponse consent = field("checkbox", "Send me news", false);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(consent));
+
+        assertValid(plan, Map.of(key(consent), false));
+        assertInvalid(plan, Map.of(key(consent), 1), "Field 'Send me news' must be true or false");
+    }
+
+    @Test
+    void validate_acceptsOptionValueOrLabel() {
+        FormFieldResponse size = field("radio", "Size", true, SIZES);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(size));
+
+        assertValid(plan, Map.of(key(size), "s"));
+        assertValid(plan, Map.of(key(size), "Small"));
+        // Options saved without a value are answered with their label
+        assertValid(plan, Map.of(key(size), "Large"));
+        assertInvalid(plan, Map.of(key(size), "Medium"), "Field 'Size' has an invalid option");
+    }
+
+    @Test
+    void validate_acceptsAnythingForChoiceFieldsWithoutOptions() {
+        FormFieldResponse size = field("select", "Size", true);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(size));
+
+        assertValid(plan, Map.of(key(size), "Whatever"));
+    }
+
+    @Test
+    void validate_checksEveryValueOfCheckboxGroup() {
+        FormFieldResponse extras = field("checkbox", "Extras", true, SIZES);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(extras));
+
+        assertValid(plan, Map.of(key(extras), List.of("s", "Large")));
+        assertInvalid(plan, Map.of(key(extras), List.of("s", "Medium")), "Field 'Extras' has an invalid option");
+        assertInvalid(plan, Map.of(key(extras), List.of(1)), "Field 'Extras' has an invalid option");
+        assertInvalid(plan, Map.of(key(extras), List.of()), "Field 'Extras' is required");
+    }
+
+    @Test
+    void submitterNameAndEmail_comeFromFirstMatchingFields() {
+        FormFieldResponse city = field("text", "City", false);
+        FormFieldResponse name = field("text", "Your Name", false);
+        FormFieldResponse guardian = field("text", "Guardian name", false);
+        FormFieldResponse email = field("email", "Email", false);
+        FormFieldResponse backupEmail = field("email", "Backup email", false);
+        SubmissionPlan plan = SubmissionPlan.compile(List.of(city, name, guardian, email, backupEmail));
+
+        Map<String, Object> answers = Map.of(
+            key(city), "Paris",
+            key(name), "Ada Lovelace",
+            key(guardian), "Lord Byron",
+            key(email), "ada@example.com",
+            key(backupEmail), "other@example.com");
+        assertThat(plan.submitterName(answers)).isEqualTo("Ada Lovelace");
+        assertThat(plan.submitterEmail(answers)).isEqualTo("ada@example.com");
+    }
+
+    @Test
+    void submitterNameAndEmail_areNullWithoutMatchingFieldsOrAnswers() {
+        FormFieldResponse name = field("text", "Name", false);
+        SubmissionPlan withName = SubmissionPlan.compile(List.of(name));
+        SubmissionPlan withoutFields = SubmissionPlan.compile(List.of(field("text", "City", false)));
+
+        assertThat(withName.submitterName(Map.of())).isNull();
+        assertThat(withName.submitterName(null)).isNull();
+        assertThat(withName.submitterEmail(Map.of(key(name), "Ada"))).isNull();
+        assertThat(withoutFields.submitterName(Map.of("anything", "Ada"))).isNull();
+    }
+
+    private static FormFieldResponse field(String type, String label, boolean required) {
+        return field(type, label, required, null);
+    }
+
+    private static FormFieldResponse field(String type, String label, boolean required,
+                                           List<FormFieldOption> options) {
+        return new FormFieldResponse(UUID.randomUUID(), type, label, null, required, 0, options, null);
+    }
+
+    private static String key(FormFieldResponse field) {
+        return field.id().toString();
+    }
+
+    private static void assertValid(SubmissionPlan plan, Map<String, Object> answers) {
+        assertThatCode(() -> plan.validate(answers)).doesNotThrowAnyException();
+    }
+
+    private static void assertInvalid(SubmissionPlan plan, Map<String, Object> answers, String message) {
+        assertThatThrownBy(() -> plan.validate(answers))
+            .isInstanceOf(ApiException.class)
+            .hasMessage(message)
+            .extracting(e -> ((ApiException) e).getStatus())
+            .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
@@ -2,9 +2,11 @@ package com.waiveliability.security;
 
 import com.waiveliability.config.JwtConfig;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,7 +25,7 @@ class JwtServiceTest {
         config.setSecret("test-secret-key-must-be-at-least-256-bits-long!!");
         config.setAccessTokenExpiry(900L);
         config.setRefreshTokenExpiry(604800L);
-        jwtService = new JwtService(config);
+        jwtService = new JwtService(config, new SimpleMeterRegistry());
     }
 
     @Test
@@ -50,6 +52,48 @@ class JwtServiceTest {
         assertThat(jwtService.extractUserId(claims)).isEqualTo(userId);
     }
 
+    @Test
+    void validateAndParseClaims_reusesVerifiedAccessToken() {
+        String token = jwtService.issueAccessToken(userId, tenantId, role);
+
+        Claims first = jwtService.validateAndParseClaims(token);
+        Claims second = jwtService.validateAndParseClaims(token);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void validateAndParseClaims_rejectsTamperedTokenAfterOriginalVerified() {
+        String token = jwtService.issueAccessToken(userId, tenantId, role);
+        jwtService.validateAndParseClaims(token);
+
+        String tampered = token.substring(0, token.length() - 2)
+            + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(jwtService.isTokenValid(tampered)).isFalse();
+    }
+
+    @Test
+    void validateAndParseClaims_acceptsTokenSignedWithPreviousKey() {
+        JwtConfig oldConfig = new JwtConfig();
+        oldConfig.setSecret("test-secret-key-must-be-at-least-256-bits-long!!");
+        oldConfig.setKeyId("2024-01");
+        oldConfig.setAccessTokenExpiry(900L);
+        JwtService oldService = new JwtService(oldConfig, new SimpleMeterRegistry());
+        String token = oldService.issueAccessToken(userId, tenantId, role);
+
+        JwtConfig rotated = new JwtConfig();
+        rotated.setSecret("rotated-secret-key-must-also-be-at-least-256-bits!!");
+        rotated.setKeyId("2024-06");
+        rotated.setPreviousKeys(Map.of("2024-01", oldConfig.getSecret()));
+        rotated.setAccessTokenExpiry(900L);
+        JwtService rotatedService = new JwtService(rotated, new SimpleMeterRegistry());
+
+        assertThat(rotatedService.extractUserId(rotatedService.validateAndParseClaims(token))).isEqualTo(userId);
+        assertThat(rotatedService.isTokenValid(rotatedService.issueAccessToken(userId, tenantId, role))).isTrue();
+        assertThat(oldService.isTokenValid(rotatedService.issueAccessToken(userId, tenantId, role))).isFalse();
+    }
+
     @Test
     void isTokenValid_returnsFalseForGarbage() {
         assertThat(jwtService.isTokenValid("not.a.token")).isFalse();
@@ -61,7 +105,7 @@ class JwtServiceTest {
         otherConfig.setSecret("completely-different-secret-key-must-be-256-bits-long!!");
         otherConfig.setAccessTokenExpiry(900L);
         otherConfig.setRefreshTokenExpiry(604800L);
-        JwtService other = new JwtService(otherConfig);
+        JwtService other = new JwtService(otherConfig, new SimpleMeterRegistry());
 
         String token = other.issueAccessToken(userId, tenantId, role);
 
@@ -74,7 +118,7 @@ class JwtServiceTest {
         config.setSecret("test-secret-key-must-be-at-least-256-bits-long!!");
         config.setAccessTokenExpiry(-1L); // already expired
         config.setRefreshTokenExpiry(-1L);
-        JwtService expiredService = new JwtService(config);
+        JwtService expiredService = new JwtService(config, new SimpleMeterRegistry());
 
         String token = expiredService.issueAccessToken(userId, tenantId, role);
 
@@ -4,11 +4,11 @@ import com.waiveliability.common.exception.PlanLimitExceededException;
 import com.waiveliability.modules.billing.domain.Subscription;
 import com.waiveliability.modules.billing.domain.Subscription.PlanType;
 import com.waiveliability.modules.billing.domain.Subscription.SubscriptionStatus;
-import com.waiveliability.modules.billing.repository.SubscriptionRepository;
-import com.waiveliability.modules.forms.repository.FormRepository;
+import com.waiveliability.modules.billing.service.EntitlementService;
+import com.waiveliability.modules.billing.service.Entitlements;
+import com.waiveliability.modules.billing.service.Usage;
+import com.waiveliability.modules.billing.service.UsageService;
 import com.waiveliability.modules.identity.domain.Tenant;
-import com.waiveliability.modules.identity.repository.TenantRepository;
-import com.waiveliability.modules.submissions.repository.SubmissionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,27 +17,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PlanEnforcerTest {
 
     @Mock
-    private SubscriptionRepository subscriptionRepository;
+    private EntitlementService entitlementService;
 
     @Mock
-    private TenantRepository tenantRepository;
-
-    @Mock
-    private FormRepository formRepository;
-
-    @Mock
-    private SubmissionRepository submissionRepository;
+    private UsageService usageService;
 
     @InjectMocks
     private PlanEnforcer planEnforcer;
@@ -88,8 +80,8 @@ class PlanEnforcerTest {
     @Test
     void checkFormLimit_shouldThrowExceptionWhenFreePlanLimitExceeded() {
         // Arrange
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(freeSubscription));
-        when(formRepository.countByTenantId(tenantId)).thenReturn(3); // Already at limit
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(freeSubscription));
+        when(usageService.get(tenantId)).thenReturn(new Usage(3, 0)); // Already at limit
 
         // Act & Assert
         assertThrows(PlanLimitExceededException.class, () -> {
@@ -100,8 +92,8 @@ class PlanEnforcerTest {
     @Test
     void checkFormLimit_shouldAllowWhenFreePlanUnderLimit() {
         // Arrange
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(freeSubscription));
-        when(formRepository.countByTenantId(tenantId)).thenReturn(2); // Under limit
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(freeSubscription));
+        when(usageService.get(tenantId)).thenReturn(new Usage(2, 0)); // Under limit
 
         // Act & Assert - should not throw
         assertDoesNotThrow(() -> {
@@ -112,8 +104,8 @@ class PlanEnforcerTest {
     @Test
     void checkFormLimit_shouldAllowBasicPlanUnderLimit() {
         // Arrange
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(basicSubscription));
-        when(formRepository.countByTenantId(tenantId)).thenReturn(9); // Under limit for basic (10)
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(basicSubscription));
+        when(usageService.get(tenantId)).thenReturn(new Usage(9, 0)); // Under limit for basic (10)
 
         // Act & Assert - should not throw
         assertDoesNotThrow(() -> {
@@ -124,20 +116,20 @@ class PlanEnforcerTest {
     @Test
     void checkFormLimit_shouldAllowPremiumPlanUnlimited() {
         // Arrange
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(premiumSubscription));
-        when(formRepository.countByTenantId(tenantId)).thenReturn(10000); // Way over limits
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(premiumSubscription));
 
-        // Act & Assert - should not throw
+        // Act & Assert - should not throw, and no need to count
         assertDoesNotThrow(() -> {
             planEnforcer.checkFormLimit(tenantId);
         });
+        verifyNoInteractions(usageService);
     }
 
     @Test
     void checkSubmissionLimit_shouldThrowExceptionWhenFreePlanLimitExceeded() {
         // Arrange
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(freeSubscription));
-        when(submissionRepository.countByTenantId(tenantId)).thenReturn(100L); // At limit
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(freeSubscription));
+        when(usageService.get(tenantId)).thenReturn(new Usage(0, 100)); // At limit
 
         // Act & Assert
         assertThrows(PlanLimitExceededException.class, () -> {
@@ -148,8 +140,8 @@ class PlanEnforcerTest {
     @Test
     void checkSubmissionLimit_shouldAllowWhenUnderLimit() {
         // Arrange
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(freeSubscription));
-        when(submissionRepository.countByTenantId(tenantId)).thenReturn(50L); // Under limit
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(freeSubscription));
+        when(usageService.get(tenantId)).thenReturn(new Usage(0, 50)); // Under limit
 
         // Act & Assert - should not throw
         assertDoesNotThrow(() -> {
@@ -160,27 +152,24 @@ class PlanEnforcerTest {
     @Test
     void checkSubmissionLimit_shouldAllowPremiumPlanUnlimited() {
         // Arrange
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.of(premiumSubscription));
-        when(submissionRepository.countByTenantId(tenantId)).thenReturn(100000L); // Way over limits
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.of(premiumSubscription));
 
-        // Act & Assert - should not throw
+        // Act & Assert - should not throw, and no need to count
         assertDoesNotThrow(() -> {
             planEnforcer.checkSubmissionLimit(tenantId);
         });
+        verifyNoInteractions(usageService);
     }
 
     @Test
-    void checkFormLimit_shouldCreateDefaultSubscriptionWhenNotExists() {
-        // Arrange
-        when(subscriptionRepository.findByTenantId(tenantId)).thenReturn(Optional.empty());
-        when(tenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
-        when(subscriptionRepository.save(any(Subscription.class))).thenAnswer(i -> i.getArgument(0));
-        when(formRepository.countByTenantId(tenantId)).thenReturn(2);
+    void checkFormLimit_shouldUseFreeLimitsWhenNoSubscription() {
+        // Arrange - tenants without a subscription row get the free plan, without any write
+        when(entitlementService.get(tenantId)).thenReturn(Entitlements.free(tenantId));
+        when(usageService.get(tenantId)).thenReturn(new Usage(3, 0));
 
-        // Act & Assert - should not throw and create default subscription
-        assertDoesNotThrow(() -> {
+        // Act & Assert
+        assertThrows(PlanLimitExceededException.class, () -> {
             planEnforcer.checkFormLimit(tenantId);
         });
-        verify(subscriptionRepository).save(any(Subscription.class));
     }
 }